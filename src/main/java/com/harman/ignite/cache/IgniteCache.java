@@ -19,10 +19,17 @@ package com.harman.ignite.cache;
 
 import com.harman.ignite.entities.IgniteEntity;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
 
 /**
  * Base contract for cache in Ignite.
@@ -32,6 +39,9 @@ import java.util.concurrent.Future;
  * But for typical store and forget or store and retrieve slightly later use cases,
  * Async methods will bring about quite a bit of throughput improvement.
  * <br> <br>
+ * Methods added to this contract later have default implementations built on the single-key methods, so
+ * existing implementations keep compiling. Implementations may override them to batch the keys.
+ * <br> <br>
  * Operations support 2 data types:
  * <li>String</li>
  * <li>IgniteEntity</li>
@@ -39,10 +49,56 @@ import java.util.concurrent.Future;
  * @author ssasidharan
  */
 public interface IgniteCache {
+    /**
+     * Cursor that starts a key scan, and that is returned once the scan is complete.
+     */
+    String SCAN_START_CURSOR = "0";
+
     String getString(String key);
 
     String getString(GetStringRequest request);
 
+    /**
+     * Reads the string into the returned future. Implementations may batch the read and return before it
+     * completes; the default implementation reads on the calling thread.
+     *
+     * @param request the get string request
+     * @return future that returns the value, or null if the key does not exist
+     */
+    default CompletableFuture<String> getStringAsync(GetStringRequest request) {
+        return completedRead(() -> getString(request));
+    }
+
+    /**
+     * Reads the strings of all requested keys. Implementations may read the keys in batches; the default
+     * implementation reads them one by one.
+     *
+     * @param requests the get string requests
+     * @return values by the key of their request, without the keys that do not exist
+     */
+    default Map<String, String> getStrings(Collection<GetStringRequest> requests) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (GetStringRequest request : requests) {
+            // read before the request key is namespaced by the read
+            String key = request.getKey();
+            String value = getString(request);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Writes the strings of all requests. Implementations may write the keys in batches; the default
+     * implementation writes them one by one.
+     *
+     * @param requests the put string requests
+     */
+    default void putStrings(Collection<PutStringRequest> requests) {
+        requests.forEach(this::putString);
+    }
+
     void putString(PutStringRequest request);
 
     /**
@@ -57,6 +113,47 @@ public interface IgniteCache {
 
     <T extends IgniteEntity> T getEntity(String key);
 
+    /**
+     * Reads the entity into the returned future. Implementations may batch the read and return before it
+     * completes; the default implementation reads on the calling thread.
+     *
+     * @param getRequest the get entity request
+     * @return future that returns the entity, or null if the key does not exist
+     */
+    default <T extends IgniteEntity> CompletableFuture<T> getEntityAsync(GetEntityRequest getRequest) {
+        return completedRead(() -> getEntity(getRequest));
+    }
+
+    /**
+     * Reads the entities of all requested keys. Implementations may read the keys in batches; the default
+     * implementation reads them one by one.
+     *
+     * @param requests the get entity requests
+     * @return entities by the key of their request, without the keys that do not exist
+     */
+    default <T extends IgniteEntity> Map<String, T> getEntities(Collection<GetEntityRequest> requests) {
+        Map<String, T> entities = new LinkedHashMap<>();
+        for (GetEntityRequest request : requests) {
+            // read before the request key is namespaced by the read
+            String key = request.getKey();
+            T entity = getEntity(request);
+            if (entity != null) {
+                entities.put(key, entity);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Writes the entities of all requests. Implementations may write the keys in batches; the default
+     * implementation writes them one by one.
+     *
+     * @param requests the put entity requests
+     */
+    default <T extends IgniteEntity> void putEntities(Collection<PutEntityRequest<T>> requests) {
+        requests.forEach(this::putEntity);
+    }
+
     <T extends IgniteEntity> void putEntity(PutEntityRequest<T> putRequest);
 
     /**
@@ -79,6 +176,17 @@ public interface IgniteCache {
 
     List<String> getStringsFromScoredSortedSet(GetScoredStringsRequest request);
 
+    /**
+     * Reads the scored set range into the returned future. Implementations may batch the read and return
+     * before it completes; the default implementation reads on the calling thread.
+     *
+     * @param request the get scored strings request
+     * @return future that returns the strings in the requested range
+     */
+    default CompletableFuture<List<String>> getStringsFromScoredSortedSetAsync(GetScoredStringsRequest request) {
+        return completedRead(() -> getStringsFromScoredSortedSet(request));
+    }
+
     <T extends IgniteEntity> void addEntityToScoredSortedSet(AddScoredEntityRequest<T> request);
 
     /**
@@ -94,16 +202,104 @@ public interface IgniteCache {
     <T extends IgniteEntity> Map<String, T> getKeyValuePairsForRegex(String keyRegex,
             Optional<Boolean> namespaceEnabled);
 
+    /**
+     * Scans the keys matching the regex one SCAN page at a time and passes each decoded key value pair to the
+     * consumer, so memory use is bounded by the page size rather than by the number of matching keys.
+     * The scan stops early when the consumer returns false. The returned cursor can then be passed back to resume
+     * the scan after the last delivered entry; as with SCAN itself, keys changed during the scan may be missed or
+     * returned twice.<br>
+     * The default implementation reads all matching pairs at once and uses the number of pairs already
+     * delivered, in key order, as the cursor.
+     *
+     * @param keyRegex the glob-style pattern keys must match
+     * @param namespaceEnabled whether to prefix the pattern with the namespace; enabled when empty
+     * @param cursor {@link #SCAN_START_CURSOR} to start a new scan, or a cursor returned by a previous call
+     * @param consumer receives each key and its entity and returns false to stop the scan
+     * @return the cursor to resume the scan from, or {@link #SCAN_START_CURSOR} when the scan is complete
+     */
+    default <T extends IgniteEntity> String scanKeyValuePairsForRegex(String keyRegex,
+            Optional<Boolean> namespaceEnabled, String cursor, BiPredicate<String, T> consumer) {
+        Map<String, T> pairs = getKeyValuePairsForRegex(keyRegex, namespaceEnabled);
+        List<Map.Entry<String, T>> entries = new ArrayList<>(new TreeMap<>(pairs).entrySet());
+        int next = Integer.parseInt(cursor);
+        while (next < entries.size()) {
+            Map.Entry<String, T> entry = entries.get(next++);
+            if (!consumer.test(entry.getKey(), entry.getValue())) {
+                return next < entries.size() ? String.valueOf(next) : SCAN_START_CURSOR;
+            }
+        }
+        return SCAN_START_CURSOR;
+    }
+
+    /**
+     * Reads one page of the key value pairs whose keys match the regex, so that a long scan can be spread over
+     * several calls. The page ends once it holds maxResults entries or the time budget is spent, whichever
+     * comes first. At least one SCAN page is read on every call, so a scan always makes progress.<br>
+     * The default implementation pages over {@link #scanKeyValuePairsForRegex} and ignores the time budget.
+     *
+     * @param keyRegex the glob-style pattern keys must match
+     * @param namespaceEnabled whether to prefix the pattern with the namespace; enabled when empty
+     * @param cursor {@link #SCAN_START_CURSOR} to start a new scan, or the cursor of the previous page
+     * @param maxResults the maximum number of entries in the page
+     * @param timeBudgetMs how long reading the page may take, in milliseconds
+     * @return the entries of the page and the cursor of the next page
+     */
+    default <T extends IgniteEntity> RegexScanPage<T> getKeyValuePairsForRegex(String keyRegex,
+            Optional<Boolean> namespaceEnabled, String cursor, int maxResults, long timeBudgetMs) {
+        Map<String, T> entries = new LinkedHashMap<>();
+        String next = scanKeyValuePairsForRegex(keyRegex, namespaceEnabled, cursor, (String key, T entity) -> {
+            entries.put(key, entity);
+            return entries.size() < maxResults;
+        });
+        return new RegexScanPage<>(entries, next);
+    }
+
     void delete(String key);
 
     void delete(DeleteEntryRequest deleteRequest);
 
     Future<String> deleteAsync(DeleteEntryRequest deleteRequest);
 
+    /**
+     * Deletes all requested keys. Implementations may delete the keys in batches; the default implementation
+     * deletes them one by one and, as single deletes do not report whether the key existed, returns the
+     * number of requests.
+     *
+     * @param deleteRequests the delete requests
+     * @return the number of keys deleted
+     */
+    default long deleteAll(Collection<DeleteEntryRequest> deleteRequests) {
+        deleteRequests.forEach(this::delete);
+        return deleteRequests.size();
+    }
+
     <T extends IgniteEntity> void putMapOfEntities(PutMapOfEntitiesRequest<T> request);
 
     <T extends IgniteEntity> Map<String, T> getMapOfEntities(GetMapOfEntitiesRequest request);
 
+    /**
+     * Reads the map into the returned future. Implementations may batch the read and return before it
+     * completes; the default implementation reads on the calling thread.
+     *
+     * @param request the get map of entities request
+     * @return future that returns the requested fields, or all fields if none are requested
+     */
+    default <T extends IgniteEntity> CompletableFuture<Map<String, T>> getMapOfEntitiesAsync(
+            GetMapOfEntitiesRequest request) {
+        return completedRead(() -> getMapOfEntities(request));
+    }
+
     void deleteMapOfEntities(DeleteMapOfEntitiesRequest request);
 
+    /**
+     * Runs a read on the calling thread and returns a future completed with its result or failure.
+     */
+    private static <T> CompletableFuture<T> completedRead(Supplier<T> read) {
+        try {
+            return CompletableFuture.completedFuture(read.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
 }
@@ -0,0 +1,59 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache;
+
+import com.harman.ignite.entities.IgniteEntity;
+
+import java.util.Map;
+
+/**
+ * Represents one page of key value pairs returned by a paged regex scan, and the cursor to read the next page.
+ *
+ * @param <T> type of the entities
+ */
+public class RegexScanPage<T extends IgniteEntity> {
+    private final Map<String, T> entries;
+    private final String cursor;
+
+    public RegexScanPage(Map<String, T> entries, String cursor) {
+        this.entries = entries;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Returns the key value pairs of the page, in scan order.
+     *
+     * @return the entries of the page
+     */
+    public Map<String, T> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the cursor to pass to the next call to read the next page.
+     *
+     * @return the next cursor, or {@link IgniteCache#SCAN_START_CURSOR} when the scan is complete
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean isComplete() {
+        return IgniteCache.SCAN_START_CURSOR.equals(cursor);
+    }
+}
@@ -11,4 +11,8 @@ public class RedisBatchProcessingException extends RuntimeException {
         super(message);
     }
 
+    public RedisBatchProcessingException(String message, Throwable throwable) {
+        super(message, throwable);
+    }
+
 }
@@ -0,0 +1,13 @@
+package com.harman.ignite.cache.exception;
+
+/**
+ * Custom exception in case an async operation is not acknowledged within its deadline.
+ */
+public class RedisOperationTimeoutException extends RedisBatchProcessingException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RedisOperationTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import com.harman.ignite.utils.logger.IgniteLogger;
+import com.harman.ignite.utils.logger.IgniteLoggerFactory;
+
+import java.util.Arrays;
+
+import static com.harman.ignite.cache.redis.RedisConstants.HUNDRED;
+import static com.harman.ignite.cache.redis.RedisConstants.TWO;
+
+/**
+ * Adjusts the batch size of the {@link AsyncBatchPipeline} to the observed batch round trip latency,
+ * additive increase / multiplicative decrease.<br>
+ * Latencies are collected over windows of WINDOW_SIZE batches. At the end of a window the batch size is
+ * halved if the 99th percentile latency exceeded the target, and grown by a twentieth of the maximum
+ * batch size otherwise, always staying between the minimum and maximum batch size.
+ */
+class AdaptiveBatchSizer {
+    private static final IgniteLogger LOGGER = IgniteLoggerFactory.getLogger(AdaptiveBatchSizer.class);
+    private static final int WINDOW_SIZE = 100;
+    private static final int PERCENTILE = 99;
+    private static final int INCREASE_STEPS = 20;
+
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetLatencyMs;
+    private final int increment;
+    private final long[] samples = new long[WINDOW_SIZE];
+    private int sampleCount;
+    private volatile int batchSize;
+
+    AdaptiveBatchSizer(int minBatchSize, int maxBatchSize, long targetLatencyMs) {
+        this.minBatchSize = Math.max(1, Math.min(minBatchSize, maxBatchSize));
+        this.maxBatchSize = maxBatchSize;
+        this.targetLatencyMs = targetLatencyMs;
+        this.increment = Math.max(1, maxBatchSize / INCREASE_STEPS);
+        this.batchSize = maxBatchSize;
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Records the round trip latency of an executed batch, adjusting the batch size at the end of a window.
+     *
+     * @param latencyMs time from executing the batch to its acknowledgement, Long.MAX_VALUE if it failed
+     */
+    synchronized void record(long latencyMs) {
+        samples[sampleCount++] = latencyMs;
+        if (sampleCount < WINDOW_SIZE) {
+            return;
+        }
+        sampleCount = 0;
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        long p99 = sorted[WINDOW_SIZE * PERCENTILE / HUNDRED.getValue() - 1];
+        int previous = batchSize;
+        if (p99 > targetLatencyMs) {
+            batchSize = Math.max(minBatchSize, previous / TWO.getValue());
+        } else {
+            batchSize = Math.min(maxBatchSize, previous + increment);
+        }
+        if (batchSize != previous) {
+            LOGGER.debug("Adjusted batch size from {} to {}, p99 latency {} ms, target {} ms",
+                    previous, batchSize, p99, targetLatencyMs);
+        }
+    }
+}
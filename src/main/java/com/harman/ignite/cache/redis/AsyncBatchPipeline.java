@@ -0,0 +1,850 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import com.harman.ignite.cache.exception.RedisBatchProcessingException;
+import com.harman.ignite.cache.exception.RedisOperationTimeoutException;
+import com.harman.ignite.utils.logger.IgniteLogger;
+import com.harman.ignite.utils.logger.IgniteLoggerFactory;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.BatchResult;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static com.harman.ignite.cache.redis.RedisConstants.HUNDRED;
+import static com.harman.ignite.cache.redis.RedisConstants.TEN;
+import static com.harman.ignite.cache.redis.RedisConstants.TWO;
+
+/**
+ * Accumulates async operations of {@link IgniteCacheRedisImpl} and executes them as pipelined batches.<br>
+ * Producers only append to a lock-free multi-producer queue. Operations are drained by a single
+ * thread at a time, which builds a fresh {@link RBatch} and executes it, so no producer ever
+ * adds to a batch that has already been executed.<br>
+ * A batch is executed when batchSize operations are pending, when the oldest pending operation
+ * has waited for lingerMs (if enabled), when the oldest pending read has waited for readLingerMs (if enabled)
+ * and on shutdown. Reads are flushed after a short linger by default, as their callers wait for the value
+ * while writes may wait for a full batch. The read linger is timed by a one-shot flush scheduled when a read is
+ * queued while no other read is pending, so an idle pipeline does not poll.<br>
+ * If a batch fails, every operation of the batch that is not yet complete is completed exceptionally
+ * with a {@link RedisBatchProcessingException}. If operationTimeoutMs is enabled, an operation that is
+ * not acknowledged in time is completed with a {@link RedisOperationTimeoutException}; the deadlines
+ * of all operations are tracked by one shared timer wheel.<br>
+ * The number of pending operations and of executed but unacknowledged batches can be capped. While
+ * maxInFlightBatches batches are outstanding, no further batch is executed and operations stay pending;
+ * once maxPendingOperations operations are pending, new operations are handled according to the
+ * {@link BackpressurePolicy}.<br>
+ * On shutdown new operations are rejected, pending operations are executed and in-flight batches
+ * are awaited up to a deadline; operations not acknowledged by then are abandoned.<br>
+ * If write coalescing is enabled, consecutive overwrites of the same key drained into one batch collapse
+ * to the last of them; any other operation on the key in between keeps both overwrites in the batch.<br>
+ * If adaptive sizing is enabled, the batch size is adjusted between adaptiveMinBatchSize and batchSize by an
+ * {@link AdaptiveBatchSizer} according to the observed batch latency.<br>
+ * If skip-result batches are enabled, a batch made only of overwrites is executed without Redis replies and
+ * its operations are acknowledged with their mutationId once the batch as a whole succeeds.
+ */
+class AsyncBatchPipeline {
+    private static final IgniteLogger LOGGER = IgniteLoggerFactory.getLogger(AsyncBatchPipeline.class);
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final long DEFAULT_READ_LINGER_MS = 2L;
+    private static final long DEFAULT_DRAIN_TIMEOUT_MS = 30000L;
+
+    /*
+     * creates a batch with the given options, or with the client defaults if the options are null
+     */
+    private final Function<BatchOptions, RBatch> batchFactory;
+    private final Queue<PendingOperation> pendingOperations = new ConcurrentLinkedQueue<>();
+    /*
+     * size of pendingOperations, tracked separately as ConcurrentLinkedQueue.size() is O(n)
+     */
+    private final AtomicInteger pendingCount = new AtomicInteger(0);
+    /*
+     * set by the thread currently draining the queue
+     */
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final Map<BatchFlushReason, AtomicLong> flushCounts = new EnumMap<>(BatchFlushReason.class);
+    private volatile int batchSize = DEFAULT_BATCH_SIZE;
+    private volatile long lingerMs;
+    private volatile long readLingerMs = DEFAULT_READ_LINGER_MS;
+    /*
+     * number of pending reads, and the enqueue time of the first read submitted while none was pending
+     */
+    private final AtomicInteger pendingReads = new AtomicInteger(0);
+    private volatile long oldestReadAt;
+    private volatile long operationTimeoutMs;
+    /*
+     * bounds how long a producer blocks for room in the pipeline when no operation timeout is set
+     */
+    private volatile long drainTimeoutMs = DEFAULT_DRAIN_TIMEOUT_MS;
+    private volatile ScheduledExecutorService flushScheduler;
+    private ScheduledFuture<?> lingerTask;
+    /*
+     * whether the flush scheduler and operation timer were created by, and are stopped with, this pipeline
+     */
+    private boolean ownsScheduling;
+    private volatile Timer operationTimer;
+    /*
+     * incremented only by the draining thread, decremented when a batch completes
+     */
+    private final AtomicInteger inFlightBatches = new AtomicInteger(0);
+    private final AtomicLong droppedOperations = new AtomicLong(0L);
+    private final AtomicLong rejectedOperations = new AtomicLong(0L);
+    private volatile int maxPendingOperations;
+    private volatile int maxInFlightBatches;
+    private volatile BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+    /*
+     * one permit per pending operation, null if the number of pending operations is not capped
+     */
+    private volatile Semaphore pendingPermits;
+    /*
+     * operations of the executed batches not yet acknowledged, keyed by the batch future
+     */
+    private final Map<CompletableFuture<?>, List<PendingOperation>> inFlightOperations = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+    private volatile boolean coalescingEnabled;
+    private volatile long adaptiveTargetLatencyMs;
+    private volatile int adaptiveMinBatchSize = 1;
+    /*
+     * null unless adaptive sizing is enabled, in which case it owns the effective batch size
+     */
+    private volatile AdaptiveBatchSizer adaptiveSizer;
+    private volatile BatchOptions batchOptions;
+    /*
+     * null unless skip-result batches are enabled
+     */
+    private volatile BatchOptions skipResultOptions;
+    private final AtomicLong skipResultBatches = new AtomicLong(0L);
+    private final AtomicLong coalescedOperations = new AtomicLong(0L);
+    /*
+     * operations pending or in flight since the pipeline was closed, only accessed by the shutting down thread
+     */
+    private final Set<PendingOperation> drainedOperations = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    AsyncBatchPipeline(Function<BatchOptions, RBatch> batchFactory) {
+        this.batchFactory = batchFactory;
+        for (BatchFlushReason reason : BatchFlushReason.values()) {
+            flushCounts.put(reason, new AtomicLong(0L));
+        }
+    }
+
+    void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    void setLingerMs(long lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    void setOperationTimeoutMs(long operationTimeoutMs) {
+        this.operationTimeoutMs = operationTimeoutMs;
+    }
+
+    void setDrainTimeoutMs(long drainTimeoutMs) {
+        this.drainTimeoutMs = drainTimeoutMs;
+    }
+
+    void setReadLingerMs(long readLingerMs) {
+        this.readLingerMs = readLingerMs;
+    }
+
+    long getLingerMs() {
+        return lingerMs;
+    }
+
+    long getReadLingerMs() {
+        return readLingerMs;
+    }
+
+    /**
+     * Returns whether partially filled batches are flushed by the flush scheduler.
+     */
+    boolean isLingerEnabled() {
+        return lingerMs > 0 || readLingerMs > 0;
+    }
+
+    long getOperationTimeoutMs() {
+        return operationTimeoutMs;
+    }
+
+    void setMaxPendingOperations(int maxPendingOperations) {
+        this.maxPendingOperations = maxPendingOperations;
+    }
+
+    void setMaxInFlightBatches(int maxInFlightBatches) {
+        this.maxInFlightBatches = maxInFlightBatches;
+    }
+
+    void setBackpressurePolicy(BackpressurePolicy backpressurePolicy) {
+        this.backpressurePolicy = backpressurePolicy;
+    }
+
+    void setCoalescingEnabled(boolean coalescingEnabled) {
+        this.coalescingEnabled = coalescingEnabled;
+    }
+
+    void setBatchOptions(BatchOptions batchOptions) {
+        this.batchOptions = batchOptions;
+    }
+
+    void setSkipResultOptions(BatchOptions skipResultOptions) {
+        this.skipResultOptions = skipResultOptions;
+    }
+
+    long getSkipResultBatchCount() {
+        return skipResultBatches.get();
+    }
+
+    void setAdaptiveTargetLatencyMs(long adaptiveTargetLatencyMs) {
+        this.adaptiveTargetLatencyMs = adaptiveTargetLatencyMs;
+    }
+
+    void setAdaptiveMinBatchSize(int adaptiveMinBatchSize) {
+        this.adaptiveMinBatchSize = adaptiveMinBatchSize;
+    }
+
+    /**
+     * Returns the batch size currently in effect, which differs from the configured batch size
+     * only if adaptive sizing is enabled.
+     *
+     * @return the effective batch size
+     */
+    int currentBatchSize() {
+        AdaptiveBatchSizer sizer = adaptiveSizer;
+        return sizer == null ? batchSize : sizer.getBatchSize();
+    }
+
+    long getCoalescedOperationCount() {
+        return coalescedOperations.get();
+    }
+
+    long getDroppedOperationCount() {
+        return droppedOperations.get();
+    }
+
+    long getRejectedOperationCount() {
+        return rejectedOperations.get();
+    }
+
+    int getInFlightBatchCount() {
+        return inFlightBatches.get();
+    }
+
+    long getFlushCount(BatchFlushReason reason) {
+        return flushCounts.get(reason).get();
+    }
+
+    int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Starts the flush scheduler if lingerMs or readLingerMs is greater than 0 and the operation timer if
+     * operationTimeoutMs is greater than 0, and applies the cap on pending operations.
+     */
+    void start() {
+        ownsScheduling = true;
+        start(isLingerEnabled() ? newFlushScheduler() : null,
+                operationTimeoutMs > 0 ? newOperationTimer(operationTimeoutMs) : null);
+    }
+
+    /**
+     * Starts the pipeline with a flush scheduler and operation timer that may be shared with other
+     * pipelines. Shared ones are not stopped when this pipeline shuts down.
+     *
+     * @param scheduler runs the linger flusher, required if lingerMs or readLingerMs is greater than 0
+     * @param timer tracks operation timeouts, required if operationTimeoutMs is greater than 0
+     */
+    void start(ScheduledExecutorService scheduler, Timer timer) {
+        if (maxPendingOperations > 0) {
+            // a smaller cap would never let a full batch form, blocking producers forever
+            if (maxPendingOperations < batchSize) {
+                LOGGER.warn("Max pending operations {} is less than the batch size, using {}",
+                        maxPendingOperations, batchSize);
+                maxPendingOperations = batchSize;
+            }
+            pendingPermits = new Semaphore(maxPendingOperations);
+            LOGGER.info("Capped pipeline to {} pending operations and {} in-flight batches, policy {}",
+                    maxPendingOperations, maxInFlightBatches, backpressurePolicy);
+        }
+        if (adaptiveTargetLatencyMs > 0) {
+            adaptiveSizer = new AdaptiveBatchSizer(adaptiveMinBatchSize, batchSize, adaptiveTargetLatencyMs);
+            LOGGER.info("Adapting batch size between {} and {} to a p99 batch latency of {} ms",
+                    adaptiveMinBatchSize, batchSize, adaptiveTargetLatencyMs);
+        }
+        if (isLingerEnabled()) {
+            flushScheduler = scheduler;
+            if (lingerMs > 0) {
+                long period = Math.max(1L, lingerMs / TWO.getValue());
+                lingerTask = scheduler.scheduleWithFixedDelay(this::flushLingering, period, period,
+                        TimeUnit.MILLISECONDS);
+            }
+            LOGGER.info("Scheduled batch flusher with linger {} ms and read linger {} ms", lingerMs, readLingerMs);
+        }
+        if (operationTimeoutMs > 0) {
+            operationTimer = timer;
+            LOGGER.info("Tracking async operation timeout of {} ms", operationTimeoutMs);
+        }
+    }
+
+    static ScheduledExecutorService newFlushScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("ignite-cache-batch-flusher"));
+    }
+
+    static Timer newOperationTimer(long operationTimeoutMs) {
+        // tick of a tenth of the timeout, capped to 100ms, keeps the timeout accurate to within 10%
+        long tickMs = Math.max(1L, Math.min(HUNDRED.getValue(), operationTimeoutMs / TEN.getValue()));
+        return new HashedWheelTimer(daemonThreadFactory("ignite-cache-operation-timer"), tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops accepting operations, executes whatever is pending and waits for all in-flight batches to be
+     * acknowledged for at most drainTimeoutMs. Operations not acknowledged by then are completed with a
+     * {@link RedisBatchProcessingException} and reported as abandoned.
+     *
+     * @param drainTimeoutMs maximum time in milliseconds to wait for pending and in-flight operations
+     * @return the number of operations flushed, failed and abandoned
+     */
+    PipelineDrainReport shutdown(long drainTimeoutMs) {
+        close();
+        drain(Collections.singletonList(this), System.currentTimeMillis() + Math.max(0L, drainTimeoutMs));
+        return abandonUnacknowledged();
+    }
+
+    /**
+     * First phase of a shutdown: stops accepting operations and the linger flusher, and executes the pending
+     * operations as far as maxInFlightBatches allows.
+     */
+    void close() {
+        closed = true;
+        if (lingerTask != null) {
+            lingerTask.cancel(false);
+        }
+        if (ownsScheduling && flushScheduler != null) {
+            flushScheduler.shutdownNow();
+        }
+        inFlightOperations.values().forEach(drainedOperations::addAll);
+        drainedOperations.addAll(pendingOperations);
+        flush(BatchFlushReason.SHUTDOWN);
+        inFlightOperations.values().forEach(drainedOperations::addAll);
+    }
+
+    /**
+     * Second phase of a shutdown: waits until the closed pipelines have executed all their pending operations
+     * and every batch of all of them is acknowledged, or until the deadline. Pending operations held back by
+     * maxInFlightBatches are executed as soon as a batch of their pipeline is acknowledged.
+     *
+     * @param pipelines the closed pipelines, drained together
+     * @param deadline time in milliseconds since the epoch after which nothing more is awaited
+     */
+    static void drain(List<AsyncBatchPipeline> pipelines, long deadline) {
+        while (true) {
+            List<CompletableFuture<?>> batches = new ArrayList<>();
+            boolean pending = false;
+            for (AsyncBatchPipeline pipeline : pipelines) {
+                pipeline.flush(BatchFlushReason.SHUTDOWN);
+                pipeline.inFlightOperations.values().forEach(pipeline.drainedOperations::addAll);
+                batches.addAll(pipeline.inFlightOperations.keySet());
+                pending |= pipeline.pendingCount.get() > 0;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (batches.isEmpty() && !pending || remaining <= 0 || !awaitBatches(batches, pending, remaining)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Waits for all batches, or for the first of them if operations are still pending, as an acknowledged
+     * batch lets more of them be executed.
+     *
+     * @return false if the caller was interrupted
+     */
+    private static boolean awaitBatches(List<CompletableFuture<?>> batches, boolean pending, long remainingMs) {
+        if (batches.isEmpty()) {
+            // operations are being drained by a producer
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1L));
+            return true;
+        }
+        CompletableFuture<?>[] futures = batches.toArray(new CompletableFuture<?>[0]);
+        try {
+            (pending ? CompletableFuture.anyOf(futures) : CompletableFuture.allOf(futures))
+                    .get(remainingMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // failed batches complete their operations exceptionally, reported as failed
+            LOGGER.debug("Batch failed while draining async pipeline", e);
+        } catch (TimeoutException e) {
+            LOGGER.warn("{} batches not acknowledged within the drain timeout",
+                    batches.stream().filter(batch -> !batch.isDone()).count());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while draining async pipeline");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Last phase of a shutdown: completes every operation of the pipeline not acknowledged yet with a
+     * {@link RedisBatchProcessingException} and stops the operation timer owned by the pipeline.
+     *
+     * @return the number of operations flushed, failed and abandoned
+     */
+    PipelineDrainReport abandonUnacknowledged() {
+        // operations left behind by the in-flight cap or queued while shutting down
+        PendingOperation operation;
+        while ((operation = pollPending()) != null) {
+            releasePendingPermit();
+            drainedOperations.add(operation);
+        }
+        if (ownsScheduling && operationTimer != null) {
+            operationTimer.stop();
+        }
+        PipelineDrainReport report = countDrained();
+        LOGGER.info("Drained async pipeline on shutdown: {}", report);
+        return report;
+    }
+
+    private PipelineDrainReport countDrained() {
+        int flushed = 0;
+        int failed = 0;
+        int abandoned = 0;
+        for (PendingOperation operation : drainedOperations) {
+            CompletableFuture<?> future = operation.getFuture();
+            if (!future.isDone() && future.completeExceptionally(new RedisBatchProcessingException(
+                    String.format("Async operation for key %s abandoned on shutdown", operation.getKey())))) {
+                abandoned++;
+            } else if (future.isCompletedExceptionally()) {
+                failed++;
+            } else {
+                flushed++;
+            }
+        }
+        return new PipelineDrainReport(flushed, failed, abandoned);
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Appends the operation to the pipeline and executes a batch if batchSize operations are pending.
+     * If maxPendingOperations are already pending, the {@link BackpressurePolicy} is applied first.
+     *
+     * @param operation the operation to add to the next batch
+     * @throws RedisBatchProcessingException if the operation is rejected by the FAIL_FAST policy, the caller
+     *         is blocked for longer than the operation timeout, or the drain timeout if there is none, or is
+     *         interrupted while blocked, or the pipeline is shut down, in which case the future
+     *         of the operation is completed with the exception as well
+     */
+    void submit(PendingOperation operation) {
+        if (closed) {
+            throw rejectOnShutdown(operation);
+        }
+        acquirePendingPermit(operation);
+        if (closed) {
+            // shut down while blocked for a permit
+            releasePendingPermit();
+            throw rejectOnShutdown(operation);
+        }
+        scheduleTimeout(operation);
+        // counted before it can be polled, so the count never goes below 0
+        boolean firstRead = operation.isRead() && pendingReads.getAndIncrement() == 0;
+        if (firstRead) {
+            oldestReadAt = operation.getEnqueuedAt();
+        }
+        pendingOperations.offer(operation);
+        int pending = pendingCount.incrementAndGet();
+        // a shutdown since the check above may have swept the queue before the operation arrived; if the
+        // operation cannot be removed, a flush or the shutdown has taken it and completes its future
+        if (closed && removePending(operation)) {
+            releasePendingPermit();
+            throw rejectOnShutdown(operation);
+        }
+        if (firstRead) {
+            scheduleReadFlush();
+        }
+        if (pending >= currentBatchSize()) {
+            flush(BatchFlushReason.SIZE);
+        }
+    }
+
+    /**
+     * Schedules a flush of the pending operations once the read linger has passed.
+     */
+    private void scheduleReadFlush() {
+        ScheduledExecutorService scheduler = flushScheduler;
+        if (scheduler == null || readLingerMs <= 0) {
+            return;
+        }
+        try {
+            scheduler.schedule(this::flushReads, readLingerMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shut down, pending operations are flushed by the shutdown
+            LOGGER.debug("Read flush not scheduled, flush scheduler is shut down");
+        }
+    }
+
+    /**
+     * Executes the pending operations if reads are pending, and checks again after the read linger while reads
+     * remain pending, for example because another thread was draining or the in-flight batches are capped.
+     */
+    private void flushReads() {
+        try {
+            if (pendingReads.get() > 0) {
+                flush(BatchFlushReason.TIME);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Unable to flush lingering reads", e);
+        }
+        if (pendingReads.get() > 0 && !closed) {
+            scheduleReadFlush();
+        }
+    }
+
+    private static RedisBatchProcessingException rejectOnShutdown(PendingOperation operation) {
+        RedisBatchProcessingException e = new RedisBatchProcessingException(String.format(
+                "Async pipeline is shut down, rejected operation for key %s", operation.getKey()));
+        operation.getFuture().completeExceptionally(e);
+        return e;
+    }
+
+    /**
+     * Executes the pending operations if the oldest of them has been waiting for at least lingerMs, or the
+     * oldest pending read for at least readLingerMs. Invoked periodically by the flush scheduler if lingerMs is
+     * greater than 0, and whenever a batch is acknowledged.
+     */
+    void flushLingering() {
+        try {
+            PendingOperation oldest = pendingOperations.peek();
+            long now = System.currentTimeMillis();
+            if (oldest != null && (lingerMs > 0 && now - oldest.getEnqueuedAt() >= lingerMs
+                    || readLingerMs > 0 && pendingReads.get() > 0 && now - oldestReadAt >= readLingerMs)) {
+                flush(BatchFlushReason.TIME);
+            }
+        } catch (Exception e) {
+            // an exception would suppress subsequent executions of the scheduled task
+            LOGGER.error("Unable to flush lingering batch", e);
+        }
+    }
+
+    /**
+     * Drains pending operations into batches and executes them.<br>
+     * For {@link BatchFlushReason#SIZE} only full batches are executed; otherwise all operations
+     * pending at the time of the call are executed. If another thread is already draining, that
+     * thread picks up the operations, except on shutdown where the caller waits for its turn.
+     *
+     * @param reason the reason for the flush
+     */
+    void flush(BatchFlushReason reason) {
+        do {
+            if (!acquireDrain(reason == BatchFlushReason.SHUTDOWN)) {
+                return;
+            }
+            try {
+                if (reason == BatchFlushReason.SIZE) {
+                    int size = currentBatchSize();
+                    while (pendingCount.get() >= size && executeBatch(size, reason) > 0) {
+                        LOGGER.trace("Executed full batch, {} operations pending", pendingCount.get());
+                    }
+                } else {
+                    int remaining = pendingCount.get();
+                    while (remaining > 0) {
+                        int drained = executeBatch(Math.min(remaining, currentBatchSize()), reason);
+                        if (drained == 0) {
+                            break;
+                        }
+                        remaining -= drained;
+                    }
+                    reason = BatchFlushReason.SIZE;
+                }
+            } finally {
+                draining.set(false);
+            }
+            // a producer may have filled a batch after the last check but before
+            // the drain flag was released, in which case its own flush attempt was skipped
+        } while (pendingCount.get() >= currentBatchSize() && hasInFlightCapacity());
+    }
+
+    private void acquirePendingPermit(PendingOperation operation) {
+        Semaphore permits = pendingPermits;
+        if (permits == null || permits.tryAcquire()) {
+            return;
+        }
+        switch (backpressurePolicy) {
+            case FAIL_FAST:
+                rejectedOperations.incrementAndGet();
+                throw new RedisBatchProcessingException(String.format(
+                        "Async pipeline is full with %d pending operations, rejected operation for key %s",
+                        maxPendingOperations, operation.getKey()));
+            case DROP_OLDEST:
+                dropOldest(permits);
+                break;
+            default:
+                // bounded, as a producer on a thread that acknowledges batches would otherwise wait forever
+                long timeoutMs = operationTimeoutMs > 0 ? operationTimeoutMs : drainTimeoutMs;
+                try {
+                    if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                        rejectedOperations.incrementAndGet();
+                        throw new RedisBatchProcessingException(String.format(
+                                "Async pipeline stayed full with %d pending operations for %d ms, rejected operation"
+                                        + " for key %s", maxPendingOperations, timeoutMs, operation.getKey()));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RedisBatchProcessingException(String.format(
+                            "Interrupted while waiting to queue async operation for key %s", operation.getKey()));
+                }
+        }
+    }
+
+    private void dropOldest(Semaphore permits) {
+        while (!permits.tryAcquire()) {
+            PendingOperation oldest = pollPending();
+            if (oldest != null) {
+                // the permit of the dropped operation is handed over to the new one
+                droppedOperations.incrementAndGet();
+                LOGGER.warn("Async pipeline is full, dropped operation for key {}", oldest.getKey());
+                oldest.getFuture().completeExceptionally(new RedisBatchProcessingException(String.format(
+                        "Async operation for key %s dropped as the pipeline is full", oldest.getKey())));
+                return;
+            }
+            // operations are being drained, their permits are about to be released
+            Thread.onSpinWait();
+        }
+    }
+
+    private void releasePendingPermit() {
+        Semaphore permits = pendingPermits;
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    private boolean hasInFlightCapacity() {
+        int max = maxInFlightBatches;
+        return max <= 0 || inFlightBatches.get() < max;
+    }
+
+    private boolean reserveInFlightBatch() {
+        if (!hasInFlightCapacity()) {
+            return false;
+        }
+        // only the draining thread reserves, so the capacity check cannot be overtaken
+        inFlightBatches.incrementAndGet();
+        return true;
+    }
+
+    private void scheduleTimeout(PendingOperation operation) {
+        Timer timer = operationTimer;
+        if (timer == null) {
+            return;
+        }
+        CompletableFuture<?> future = operation.getFuture();
+        Timeout timeout = timer.newTimeout(t -> future.completeExceptionally(new RedisOperationTimeoutException(
+                String.format("Async operation for key %s not acknowledged within %d ms",
+                        operation.getKey(), operationTimeoutMs))), operationTimeoutMs, TimeUnit.MILLISECONDS);
+        future.whenComplete((r, e) -> timeout.cancel());
+    }
+
+    private boolean acquireDrain(boolean wait) {
+        while (!draining.compareAndSet(false, true)) {
+            if (!wait) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    private int executeBatch(int maxOperations, BatchFlushReason reason) {
+        if (!reserveInFlightBatch()) {
+            LOGGER.trace("{} batches in flight, deferring execution", inFlightBatches.get());
+            return 0;
+        }
+        List<PendingOperation> operations = new ArrayList<>(Math.max(0, Math.min(maxOperations, pendingCount.get())));
+        int drained = pollOperations(maxOperations, operations);
+        if (coalescingEnabled) {
+            coalesce(operations);
+        }
+        // replies are only skipped if no operation needs the reply to its own command
+        boolean acknowledgeOnly = skipResultOptions != null && !operations.isEmpty()
+                && operations.stream().allMatch(PendingOperation::isOverwrite);
+        List<PendingOperation> batched = new ArrayList<>(operations.size());
+        RBatch batch = null;
+        for (PendingOperation operation : operations) {
+            if (batch == null) {
+                batch = batchFactory.apply(acknowledgeOnly ? skipResultOptions : batchOptions);
+            }
+            try {
+                operation.addTo(batch);
+                batched.add(operation);
+            } catch (RuntimeException e) {
+                LOGGER.error("Unable to add operation for key {} to batch", operation.getKey(), e);
+                operation.getFuture().completeExceptionally(e);
+            }
+        }
+        if (batched.isEmpty()) {
+            inFlightBatches.decrementAndGet();
+        } else {
+            flushCounts.get(reason).incrementAndGet();
+            LOGGER.debug("Executing batch of size {} asynchronously, flush reason {}", batched.size(), reason);
+            if (acknowledgeOnly) {
+                skipResultBatches.incrementAndGet();
+            }
+            executeAsync(batch, batched, acknowledgeOnly);
+        }
+        return drained;
+    }
+
+    private int pollOperations(int maxOperations, List<PendingOperation> operations) {
+        int drained = 0;
+        PendingOperation operation;
+        while (drained < maxOperations && (operation = pollPending()) != null) {
+            releasePendingPermit();
+            drained++;
+            // timed out or cancelled by the caller while waiting in the pipeline
+            if (!operation.getFuture().isDone()) {
+                operations.add(operation);
+            }
+        }
+        return drained;
+    }
+
+    private PendingOperation pollPending() {
+        PendingOperation operation = pendingOperations.poll();
+        if (operation != null) {
+            uncount(operation);
+        }
+        return operation;
+    }
+
+    private boolean removePending(PendingOperation operation) {
+        if (!pendingOperations.remove(operation)) {
+            return false;
+        }
+        uncount(operation);
+        return true;
+    }
+
+    private void uncount(PendingOperation operation) {
+        pendingCount.decrementAndGet();
+        if (operation.isRead()) {
+            pendingReads.decrementAndGet();
+        }
+    }
+
+    private void coalesce(List<PendingOperation> operations) {
+        Map<String, PendingOperation> latest = new HashMap<>();
+        Map<PendingOperation, PendingOperation> superseded = new IdentityHashMap<>();
+        for (PendingOperation operation : operations) {
+            PendingOperation previous = latest.put(operation.getKey(), operation);
+            if (operation.isOverwrite() && previous != null && previous.isOverwrite()) {
+                superseded.put(previous, operation);
+            }
+        }
+        if (superseded.isEmpty()) {
+            return;
+        }
+        operations.removeIf(superseded::containsKey);
+        superseded.forEach(PendingOperation::supersededBy);
+        coalescedOperations.addAndGet(superseded.size());
+        LOGGER.trace("Coalesced {} overwrites in batch", superseded.size());
+    }
+
+    private void executeAsync(RBatch batch, List<PendingOperation> batched, boolean acknowledgeOnly) {
+        try {
+            long startNanos = System.nanoTime();
+            RFuture<BatchResult<?>> result = batch.executeAsync();
+            CompletableFuture<BatchResult<?>> completion = result.toCompletableFuture();
+            inFlightOperations.put(completion, batched);
+            result.whenComplete((r, t) -> {
+                inFlightOperations.remove(completion);
+                inFlightBatches.decrementAndGet();
+                recordLatency(t == null ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+                        : Long.MAX_VALUE);
+                if (t == null && acknowledgeOnly) {
+                    LOGGER.debug("Executed batch asynchronously, skipped results");
+                    batched.forEach(PendingOperation::acknowledge);
+                } else if (t == null) {
+                    LOGGER.debug("Executed batch asynchronously");
+                    LOGGER.trace("Responses of last batch operation: {}", r.getResponses());
+                } else {
+                    failOperations(batched, t);
+                }
+                // batches may have been deferred while the in-flight cap was reached
+                if (pendingCount.get() >= currentBatchSize()) {
+                    flush(BatchFlushReason.SIZE);
+                } else if (isLingerEnabled()) {
+                    flushLingering();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlightBatches.decrementAndGet();
+            failOperations(batched, e);
+        }
+    }
+
+    private void recordLatency(long latencyMs) {
+        AdaptiveBatchSizer sizer = adaptiveSizer;
+        if (sizer != null) {
+            sizer.record(latencyMs);
+        }
+    }
+
+    private void failOperations(List<PendingOperation> operations, Throwable cause) {
+        LOGGER.error("Execution of batch with {} operations failed", operations.size(), cause);
+        RedisBatchProcessingException exception =
+                new RedisBatchProcessingException("Redis batch execution failed", cause);
+        for (PendingOperation operation : operations) {
+            operation.getFuture().completeExceptionally(exception);
+        }
+    }
+}
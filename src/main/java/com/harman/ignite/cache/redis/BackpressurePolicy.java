@@ -0,0 +1,43 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+/**
+ * What the async pipeline does with a new operation when the maximum number of pending
+ * operations is reached.
+ */
+public enum BackpressurePolicy {
+    /**
+     * The calling thread is blocked until a pending operation is drained into a batch, for at most the async
+     * operation timeout, or the drain timeout if no operation timeout is set, after which the call fails with a
+     * RedisBatchProcessingException.<br>
+     * Must not be used by async operations submitted from Redisson or netty threads, such as in a callback of
+     * another async operation: these threads acknowledge the batches that make room in the pipeline, so blocking
+     * them stalls the pipeline until the timeout.
+     */
+    BLOCK,
+    /**
+     * The call fails immediately with a RedisBatchProcessingException.
+     */
+    FAIL_FAST,
+    /**
+     * The oldest pending operation is dropped, its future is completed with a
+     * RedisBatchProcessingException, and the new operation is accepted.
+     */
+    DROP_OLDEST
+}
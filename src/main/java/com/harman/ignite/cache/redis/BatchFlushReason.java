@@ -0,0 +1,37 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+/**
+ * Reasons for which a pipelined batch of async operations is executed.
+ */
+public enum BatchFlushReason {
+    /**
+     * The batch reached the configured pipeline size.
+     */
+    SIZE,
+    /**
+     * The oldest operation in the batch waited longer than the configured linger time, or the oldest read
+     * longer than the read linger time.
+     */
+    TIME,
+    /**
+     * The cache is shutting down and the pending batch is flushed.
+     */
+    SHUTDOWN
+}
@@ -0,0 +1,83 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntPredicate;
+
+/**
+ * Computes the Redis Cluster hash slot of a key, CRC16 (XMODEM) of the key modulo 16384.<br>
+ * If the key contains a non-empty hash tag, only the part between the first '{' and the following '}'
+ * is hashed, as done by Redis.
+ */
+final class ClusterSlots {
+    static final int SLOT_COUNT = 16384;
+    private static final int POLYNOMIAL = 0x1021;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int HIGH_BIT = 0x8000;
+    private static final int CRC_MASK = 0xFFFF;
+    private static final int BITS_PER_BYTE = 8;
+
+    private ClusterSlots() {
+    }
+
+    /**
+     * Returns the hash slot of the key.
+     *
+     * @param key the key
+     * @return the slot, between 0 and 16383
+     */
+    static int slot(String key) {
+        String hashed = key;
+        int start = key.indexOf('{');
+        if (start >= 0) {
+            int end = key.indexOf('}', start + 1);
+            if (end > start + 1) {
+                hashed = key.substring(start + 1, end);
+            }
+        }
+        return crc16(hashed.getBytes(StandardCharsets.UTF_8)) % SLOT_COUNT;
+    }
+
+    /**
+     * Returns a key whose slot is accepted by the filter, so that commands routed by that key reach the master
+     * owning those slots.
+     *
+     * @param ownedSlot accepts the slots of the target master; must accept at least one slot
+     * @return the shortest such key made of decimal digits
+     */
+    static String keyInSlots(IntPredicate ownedSlot) {
+        for (int i = 0; ; i++) {
+            String key = String.valueOf(i);
+            if (ownedSlot.test(slot(key))) {
+                return key;
+            }
+        }
+    }
+
+    static int crc16(byte[] bytes) {
+        int crc = 0;
+        for (byte b : bytes) {
+            crc ^= (b & BYTE_MASK) << BITS_PER_BYTE;
+            for (int i = 0; i < BITS_PER_BYTE; i++) {
+                crc = (crc & HIGH_BIT) != 0 ? (crc << 1) ^ POLYNOMIAL : crc << 1;
+            }
+        }
+        return crc & CRC_MASK;
+    }
+}
@@ -31,6 +31,7 @@ import com.harman.ignite.cache.IgniteCache;
 import com.harman.ignite.cache.PutEntityRequest;
 import com.harman.ignite.cache.PutMapOfEntitiesRequest;
 import com.harman.ignite.cache.PutStringRequest;
+import com.harman.ignite.cache.RegexScanPage;
 import com.harman.ignite.cache.exception.DecodeException;
 import com.harman.ignite.cache.exception.FileNotFoundException;
 import com.harman.ignite.cache.exception.IgniteCacheException;
@@ -43,42 +44,63 @@ import com.harman.ignite.utils.logger.IgniteLoggerFactory;
 import io.netty.buffer.Unpooled;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.redisson.api.BatchOptions;
 import org.redisson.api.RBatch;
 import org.redisson.api.RBucket;
 import org.redisson.api.RBucketAsync;
 import org.redisson.api.RFuture;
+import org.redisson.api.RKeys;
 import org.redisson.api.RMap;
+import org.redisson.api.RMapAsync;
+import org.redisson.api.RObject;
 import org.redisson.api.RScoredSortedSet;
 import org.redisson.api.RScoredSortedSetAsync;
 import org.redisson.api.RScript;
+import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
+import org.redisson.api.options.LocalCachedMapOptions;
+import org.redisson.api.redisnode.RedisCluster;
+import org.redisson.api.redisnode.RedisClusterMaster;
+import org.redisson.api.redisnode.RedisNodes;
+import org.redisson.client.codec.ByteArrayCodec;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.codec.StringCodec;
 import org.redisson.client.protocol.Decoder;
 import org.redisson.client.protocol.ScoredEntry;
+import org.redisson.cluster.ClusterSlotRange;
 import org.redisson.codec.JsonJacksonCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.net.InetSocketAddress;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.harman.ignite.cache.redis.RedisConstants.TEN;
@@ -101,11 +123,14 @@ import static com.harman.ignite.cache.redis.RedisProperty.REDIS_KEY_NAMESPACE_DE
  */
 @Repository
 public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
-    private static final int NUM_BATCH_RETRIES = 5;
     public static final long MINUS_ONE_LONG = -1L;
     public static final String REDIS_HEALTH_GUAGE = "REDIS_HEALTH_GUAGE";
     public static final String REDIS_HEALTH_MONITOR = "REDIS_HEALTH_MONITOR";
     private static final IgniteLogger LOGGER = IgniteLoggerFactory.getLogger(IgniteCacheRedisImpl.class);
+    private static final String SCAN_REGEX_SCRIPT = "scanregex";
+    private static final String SCAN_KEYS_SCRIPT = "scankeys";
+    private static final String KEYSPACE_CHANNEL_PREFIX = "__keyspace@*__:";
+    private static final String DEFAULT_INVALIDATION_TOPIC = "ignite-cache:near-cache:invalidations";
     @Value("${redis.scan.limit:100}")
     private int scanLimit;
     @Value("${redis.regex.scan.filename:scanregex.txt}")
@@ -123,26 +148,210 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
     private String retryRecordIdPattern;
     @Autowired
     private ObjectMapper objectMapper;
-    private String scanRegexScript;
+    @Value("${" + RedisProperty.REDIS_SCAN_KEYS_FILENAME + ":scankeys.txt}")
+    private String scanKeysFileName;
+    private final RedisScriptRegistry scriptRegistry = new RedisScriptRegistry(
+            codec -> redissonClient.getScript(codec), stringCodec);
+    /**
+     * Invokes the scripts of this library with EVALSHA instead of sending the script text with every EVAL.
+     */
+    @Value("${" + RedisProperty.REDIS_SCRIPT_EVALSHA_ENABLED + ":false}")
+    private boolean evalShaEnabled;
+    /**
+     * Whether regex scans read values inside the scan script or with MGET from the client.
+     */
+    @Value("${" + RedisProperty.REDIS_REGEX_SCAN_ENGINE + ":LUA}")
+    private RegexScanEngine regexScanEngine = RegexScanEngine.LUA;
     /**
      * Pipelining batch size. See redis pipelining for more details.
      */
     @Value("${redis.pipeline.size:1000}")
     private int batchSize = 1000;
-    // One thread could be committing the batch when another thread could be
-    // adding to the batch. To avoid this, using a volatile and assigning a new
-    // batch so other threads that are about to execute a batch op, will use the
-    // new batch. And existing threads that might be adding to the batch when
-    // the batch is currently about to be committed are left to fail-retry
-    // semantics. The only error would be that the batch may not always contain
-    // batchSize entries; there can be more but not less. That is ok.
-    private volatile RBatch currentBatch = null;
-    /*
-     * used for tracking the current size of the batch and to trigger execution
-     * when size equals batch size
-     */
-    private AtomicInteger batchCount = new AtomicInteger(0);
-    private AtomicLong lastBatchExecTimestamp = new AtomicLong(System.currentTimeMillis());
+    // Async operations are queued in the pipeline and only the thread draining
+    // the pipeline adds them to a batch, so no operation is ever added to a
+    // batch that has already been executed.
+    private final Function<BatchOptions, RBatch> batchFactory =
+            options -> options == null ? redissonClient.createBatch() : redissonClient.createBatch(options);
+    private StripedAsyncPipeline pipeline = StripedAsyncPipeline.single(batchFactory);
+    /**
+     * Number of independent async pipelines, each covering an equal range of cluster hash slots.
+     * Set to the number of masters in cluster mode so that a slow master only delays its own operations.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_STRIPES + ":1}")
+    private int pipelineStripes = 1;
+    /**
+     * Limits every pipeline stripe to one batch in flight, so that async operations on the same key
+     * are applied in submission order. Parallelism then comes from redis.pipeline.stripes.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_PER_KEY_ORDERING_ENABLED + ":false}")
+    private boolean perKeyOrderingEnabled;
+    /**
+     * Deletes keys with UNLINK instead of DEL, so that freeing large maps and sorted sets does not
+     * block Redis.
+     */
+    @Value("${" + RedisProperty.REDIS_DELETE_UNLINK_ENABLED + ":false}")
+    private boolean unlinkEnabled;
+    /**
+     * Maximum time in milliseconds an operation may wait in a partially filled batch
+     * before the batch is executed. Time based flushing is disabled if not greater than 0.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_LINGER_MS + ":0}")
+    private long lingerMs;
+    /**
+     * Maximum time in milliseconds an async read may wait in a partially filled batch before the batch is
+     * executed. If not greater than 0, reads only wait for redis.pipeline.linger.ms like writes.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_READ_LINGER_MS + ":2}")
+    private long readLingerMs = 2L;
+    /**
+     * Maximum time in milliseconds an async operation may take to be acknowledged by Redis, including the
+     * time spent waiting in the pipeline. Futures of late operations are completed with
+     * RedisOperationTimeoutException. Disabled if not greater than 0.
+     */
+    @Value("${" + RedisProperty.REDIS_ASYNC_OP_TIMEOUT_MS + ":0}")
+    private long asyncOperationTimeoutMs;
+    /**
+     * Maximum number of async operations waiting in the pipeline. Not capped if not greater than 0.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_MAX_PENDING_OPS + ":0}")
+    private int maxPendingOperations;
+    /**
+     * Maximum number of executed batches not yet acknowledged by Redis. Not capped if not greater than 0.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_MAX_INFLIGHT_BATCHES + ":0}")
+    private int maxInFlightBatches;
+    /**
+     * What to do with a new async operation once maxPendingOperations are pending.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_BACKPRESSURE_POLICY + ":BLOCK}")
+    private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+    /**
+     * Maximum time in milliseconds to wait on shutdown for pending and in-flight async operations
+     * to be acknowledged by Redis.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_DRAIN_TIMEOUT_MS + ":30000}")
+    private long drainTimeoutMs;
+    /**
+     * Collapses unconditional writes of the same key within a batch to the last of them.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_COALESCING_ENABLED + ":false}")
+    private boolean coalescingEnabled;
+    /**
+     * Lets concurrent reads of the same bucket share one in-flight Redis request and its decoded value.
+     */
+    @Value("${" + RedisProperty.REDIS_READ_SINGLE_FLIGHT_ENABLED + ":false}")
+    private boolean singleFlightEnabled;
+    /**
+     * Target p99 round trip latency in milliseconds of a batch. If greater than 0, the batch size is adapted
+     * between redis.pipeline.adaptive.min.size and redis.pipeline.size to meet it.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_ADAPTIVE_TARGET_LATENCY_MS + ":0}")
+    private long adaptiveTargetLatencyMs;
+    /**
+     * Lower bound of the adaptive batch size.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_ADAPTIVE_MIN_SIZE + ":10}")
+    private int adaptiveMinBatchSize = 10;
+    /**
+     * Executes batches consisting only of unconditional puts and deletes without Redis replies.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_SKIP_RESULT_ENABLED + ":false}")
+    private boolean skipResultEnabled;
+    /**
+     * Response timeout in milliseconds of pipelined batches. Redisson default if not greater than 0.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_RESPONSE_TIMEOUT_MS + ":0}")
+    private long batchResponseTimeoutMs;
+    /**
+     * Retry attempts of pipelined batches. Redisson default if negative.
+     */
+    @Value("${" + RedisProperty.REDIS_PIPELINE_RETRY_ATTEMPTS + ":-1}")
+    private int batchRetryAttempts = -1;
+    /**
+     * Caches values read with getString and getEntity in process, see NearCache.
+     */
+    @Value("${" + RedisProperty.REDIS_NEAR_CACHE_ENABLED + ":false}")
+    private boolean nearCacheEnabled;
+    @Value("${" + RedisProperty.REDIS_NEAR_CACHE_MAX_SIZE + ":10000}")
+    private int nearCacheMaxSize = 10000;
+    /**
+     * Upper bound of the time a value stays in the near cache, also for keys without expiry.
+     */
+    @Value("${" + RedisProperty.REDIS_NEAR_CACHE_MAX_TTL_MS + ":60000}")
+    private long nearCacheMaxTtlMs = 60000L;
+    /**
+     * Topic on which writes publish the keys they wrote, to invalidate the near caches of all instances. If set,
+     * writes publish to it even if the near cache of this instance is disabled.
+     */
+    @Value("${" + RedisProperty.REDIS_NEAR_CACHE_INVALIDATION_TOPIC + ":}")
+    private String nearCacheInvalidationTopic = "";
+    /**
+     * Topic on which writes publish the keys they wrote, or null if no instance is known to need them.
+     */
+    private RTopic invalidationTopic;
+    private InvalidationSubscription invalidationSubscription;
+    /**
+     * Whether the near cache is invalidated by writes through this library only, or by keyspace notifications
+     * of Redis that also cover writes of other clients.
+     */
+    @Value("${" + RedisProperty.REDIS_NEAR_CACHE_INVALIDATION + ":TOPIC}")
+    private NearCacheInvalidation nearCacheInvalidation = NearCacheInvalidation.TOPIC;
+    /**
+     * Off-heap memory used to cache serialized entities read with getEntity, 0 to cache them on the heap.
+     */
+    @Value("${" + RedisProperty.REDIS_NEAR_CACHE_OFF_HEAP_CAPACITY_BYTES + ":0}")
+    private long nearCacheOffHeapCapacityBytes;
+    /**
+     * Size of an off-heap slab, also the maximum size of an entity cached off heap.
+     */
+    @Value("${" + RedisProperty.REDIS_NEAR_CACHE_OFF_HEAP_SLAB_SIZE_BYTES + ":1048576}")
+    private int nearCacheOffHeapSlabSizeBytes = 1048576;
+    private NearCache nearCache;
+    /**
+     * Time a key found absent is remembered, so repeated reads of it do not reach Redis. 0 disables negative
+     * caching.
+     */
+    @Value("${" + RedisProperty.REDIS_NEGATIVE_CACHE_TTL_MS + ":0}")
+    private long negativeCacheTtlMs;
+    @Value("${" + RedisProperty.REDIS_NEGATIVE_CACHE_MAX_SIZE + ":10000}")
+    private int negativeCacheMaxSize = 10000;
+    private NegativeCache negativeCache;
+    /**
+     * Prefixes of the keys, without namespace, of the maps of entities backed by an RLocalCachedMap.
+     */
+    @Value("${" + RedisProperty.REDIS_LOCAL_CACHED_MAP_PREFIXES + ":}")
+    private String[] localCachedMapPrefixes = new String[0];
+    /**
+     * Maximum number of local cached maps kept open, each with its own local cache and invalidation listener.
+     * Capped to half the Pub/Sub subscriptions of the client.
+     */
+    @Value("${" + RedisProperty.REDIS_LOCAL_CACHED_MAP_MAX_MAPS + ":100}")
+    private int localCachedMapMaxMaps = 100;
+    /**
+     * Pub/Sub connections of the client and subscriptions per connection, which bound the number of local cached
+     * maps that can listen to invalidations at once.
+     */
+    @Value("${" + RedisProperty.REDIS_SUBSCRIPTION_CONN_POOL_SIZE + ":50}")
+    private int subscriptionConnectionPoolSize = 50;
+    @Value("${" + RedisProperty.REDIS_SUBSCRIPTION_PER_CONN + ":5}")
+    private int subscriptionsPerConnection = 5;
+    @Value("${" + RedisProperty.REDIS_LOCAL_CACHED_MAP_CACHE_SIZE + ":1000}")
+    private int localCachedMapCacheSize = 1000;
+    @Value("${" + RedisProperty.REDIS_LOCAL_CACHED_MAP_TTL_MS + ":0}")
+    private long localCachedMapTtlMs;
+    @Value("${" + RedisProperty.REDIS_LOCAL_CACHED_MAP_EVICTION_POLICY + ":LFU}")
+    private LocalCachedMapOptions.EvictionPolicy localCachedMapEvictionPolicy =
+            LocalCachedMapOptions.EvictionPolicy.LFU;
+    @Value("${" + RedisProperty.REDIS_LOCAL_CACHED_MAP_SYNC_STRATEGY + ":INVALIDATE}")
+    private LocalCachedMapOptions.SyncStrategy localCachedMapSyncStrategy =
+            LocalCachedMapOptions.SyncStrategy.INVALIDATE;
+    @Value("${" + RedisProperty.REDIS_LOCAL_CACHED_MAP_RECONNECTION_STRATEGY + ":CLEAR}")
+    private LocalCachedMapOptions.ReconnectionStrategy localCachedMapReconnectionStrategy =
+            LocalCachedMapOptions.ReconnectionStrategy.CLEAR;
+    private LocalCachedMaps localCachedMaps;
+    private final SingleFlight singleFlightReads = new SingleFlight();
+    // kept apart so a blocking read never waits on a read queued in the async pipeline
+    private final SingleFlight singleFlightAsyncReads = new SingleFlight();
 
     public static final String MANDATORY_VALUE = "value is mandatory";
     public static final String MANDATORY_KEY = "key is mandatory";
@@ -164,16 +373,62 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
 
     @Override
     public String getString(String key) {
-        key = addNamespace(key, true);
-        RBucket<String> bucket = redissonClient.getBucket(key);
-        return bucket.get();
+        String namespacedKey = addNamespace(key, true);
+        return readUnlessAbsent(namespacedKey, () -> cachedRead(namespacedKey, () -> {
+            RBucket<String> bucket = redissonClient.getBucket(namespacedKey);
+            return bucket.get();
+        }));
     }
 
     @Override
     public String getString(GetStringRequest request) {
         validate(request);
         request.withKey(addNamespace(request.getKey(), request.getNamespaceEnabled()));
-        return (String) redissonClient.getBucket(request.getKey()).get();
+        String key = request.getKey();
+        return readUnlessAbsent(key, () -> cachedRead(key, () -> (String) redissonClient.getBucket(key).get()));
+    }
+
+    @Override
+    public CompletableFuture<String> getStringAsync(GetStringRequest request) {
+        validate(request);
+        request.withKey(addNamespace(request.getKey(), request.getNamespaceEnabled()));
+        return readUnlessAbsentAsync(request.getKey(), () -> cachedReadAsync(request.getKey()));
+    }
+
+    /**
+     * Reads the strings of all requested keys in one MGET. In cluster mode the keys are split by slot
+     * and read from the masters in parallel.
+     */
+    @Override
+    public Map<String, String> getStrings(Collection<GetStringRequest> requests) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (GetStringRequest request : requests) {
+            validate(request);
+            keys.put(addNamespace(request.getKey(), request.getNamespaceEnabled()), request.getKey());
+        }
+        return getAll(keys);
+    }
+
+    /**
+     * Writes all strings in one MSET, or in one pipelined batch if any request has a TTL or an expected value.
+     */
+    @Override
+    public void putStrings(Collection<PutStringRequest> requests) {
+        requests.forEach(this::validate);
+        if (requests.stream().allMatch(r -> r.getExpectedValue() == null && r.getTtlMs() == MINUS_ONE_LONG)) {
+            Map<String, String> values = new LinkedHashMap<>();
+            requests.forEach(r -> values.put(addNamespace(r.getKey(), r.getNamespaceEnabled()), r.getValue()));
+            redissonClient.getBuckets().set(values);
+            values.keySet().forEach(this::invalidate);
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        for (PutStringRequest r : requests) {
+            RBucketAsync<String> bucket = batch.getBucket(addNamespace(r.getKey(), r.getNamespaceEnabled()));
+            setAsync(bucket, r.getValue(), r.getTtlMs(), r.getExpectedValue());
+        }
+        batch.execute();
+        requests.forEach(r -> invalidate(addNamespace(r.getKey(), r.getNamespaceEnabled())));
     }
 
     @Override
@@ -190,19 +445,65 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
         } else {
             bucket.compareAndSet(putRequest.getExpectedValue(), putRequest.getValue());
         }
+        invalidate(putRequest.getKey());
     }
 
     @Override
     public <T extends IgniteEntity> T getEntity(String key) {
-        key = addNamespace(key, true);
-        RBucket<T> bucket = redissonClient.getBucket(key);
-        return bucket.get();
+        String namespacedKey = addNamespace(key, true);
+        return readUnlessAbsent(namespacedKey, () -> cachedEntityRead(namespacedKey, () -> {
+            RBucket<T> bucket = redissonClient.getBucket(namespacedKey);
+            return bucket.get();
+        }));
     }
 
     @Override
     public <T extends IgniteEntity> T getEntity(GetEntityRequest request) {
         request.withKey(addNamespace(request.getKey(), request.getNamespaceEnabled()));
-        return (T) redissonClient.getBucket(request.getKey()).get();
+        String key = request.getKey();
+        return readUnlessAbsent(key, () -> cachedEntityRead(key, () -> (T) redissonClient.getBucket(key).get()));
+    }
+
+    @Override
+    public <T extends IgniteEntity> CompletableFuture<T> getEntityAsync(GetEntityRequest request) {
+        request.withKey(addNamespace(request.getKey(), request.getNamespaceEnabled()));
+        return readUnlessAbsentAsync(request.getKey(), () -> cachedEntityReadAsync(request.getKey()));
+    }
+
+    /**
+     * Reads the entities of all requested keys in one MGET. In cluster mode the keys are split by slot
+     * and read from the masters in parallel.
+     */
+    @Override
+    public <T extends IgniteEntity> Map<String, T> getEntities(Collection<GetEntityRequest> requests) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (GetEntityRequest request : requests) {
+            validate(request);
+            keys.put(addNamespace(request.getKey(), request.getNamespaceEnabled()), request.getKey());
+        }
+        return getAll(keys);
+    }
+
+    /**
+     * Writes all entities in one MSET, or in one pipelined batch if any request has a TTL or an expected value.
+     */
+    @Override
+    public <T extends IgniteEntity> void putEntities(Collection<PutEntityRequest<T>> requests) {
+        requests.forEach(this::validate);
+        if (requests.stream().allMatch(r -> r.getExpectedValue() == null && r.getTtlMs() == MINUS_ONE_LONG)) {
+            Map<String, T> values = new LinkedHashMap<>();
+            requests.forEach(r -> values.put(addNamespace(r.getKey(), r.getNamespaceEnabled()), r.getValue()));
+            redissonClient.getBuckets().set(values);
+            values.keySet().forEach(this::invalidate);
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        for (PutEntityRequest<T> r : requests) {
+            RBucketAsync<T> bucket = batch.getBucket(addNamespace(r.getKey(), r.getNamespaceEnabled()));
+            setAsync(bucket, r.getValue(), r.getTtlMs(), r.getExpectedValue());
+        }
+        batch.execute();
+        requests.forEach(r -> invalidate(addNamespace(r.getKey(), r.getNamespaceEnabled())));
     }
 
     @Override
@@ -219,6 +520,7 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
         } else {
             bucket.compareAndSet(putRequest.getExpectedValue(), putRequest.getValue());
         }
+        invalidate(putRequest.getKey());
     }
 
     @Override
@@ -245,6 +547,23 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
         }
     }
 
+    @Override
+    public CompletableFuture<List<String>> getStringsFromScoredSortedSetAsync(GetScoredStringsRequest request) {
+        validate(request);
+        request.withKey(addNamespace(request.getKey(), request.getNamespaceEnabled()));
+        CompletableFuture<List<String>> f = new CompletableFuture<>();
+        performReadOperation(request.getKey(), f, batch -> {
+            RScoredSortedSetAsync<String> sset = batch.getScoredSortedSet(request.getKey());
+            RFuture<Collection<ScoredEntry<String>>> rf = request.isReversed()
+                    ? sset.entryRangeReversedAsync(request.getStartIndex(), request.getEndIndex())
+                    : sset.entryRangeAsync(request.getStartIndex(), request.getEndIndex());
+            rf.thenAccept(entries -> f.complete(entries.stream()
+                    .map(ScoredEntry::getValue)
+                    .collect(Collectors.toList())));
+        });
+        return f;
+    }
+
     @Override
     public <T extends IgniteEntity> void addEntityToScoredSortedSet(AddScoredEntityRequest<T> request) {
         validate(request);
@@ -276,8 +595,8 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
         validate(putRequest);
         putRequest.withKey(addNamespace(putRequest.getKey(), putRequest.getNamespaceEnabled()));
         CompletableFuture<String> f = new CompletableFuture<>();
-        performBatchOperation(v -> {
-            RBucketAsync<String> bucket = currentBatch.getBucket(putRequest.getKey());
+        Consumer<RBatch> operation = batch -> {
+            RBucketAsync<String> bucket = batch.getBucket(putRequest.getKey());
             final String mutationId = putRequest.getMutationId();
             if (putRequest.getExpectedValue() == null) {
                 if (putRequest.getTtlMs() == MINUS_ONE_LONG) {
@@ -291,7 +610,13 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
                 bucket.compareAndSetAsync(putRequest.getExpectedValue(), putRequest.getValue())
                         .thenAccept(s -> completeFuture(s, f, mutationId));
             }
-        });
+        };
+        if (putRequest.getExpectedValue() == null) {
+            performOverwriteOperation(putRequest.getKey(), f, putRequest.getMutationId(), operation);
+        } else {
+            performBatchOperation(putRequest.getKey(), f, operation);
+        }
+        invalidateOnCompletion(putRequest.getKey(), f);
         return f;
     }
 
@@ -300,8 +625,8 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
         validate(putRequest);
         putRequest.withKey(addNamespace(putRequest.getKey(), putRequest.getNamespaceEnabled()));
         CompletableFuture<String> f = new CompletableFuture<>();
-        performBatchOperation(v -> {
-            RBucketAsync<T> bucket = currentBatch.getBucket(putRequest.getKey());
+        Consumer<RBatch> operation = batch -> {
+            RBucketAsync<T> bucket = batch.getBucket(putRequest.getKey());
             final String mutationId = putRequest.getMutationId();
             if (putRequest.getExpectedValue() == null) {
                 if (putRequest.getTtlMs() == MINUS_ONE_LONG) {
@@ -315,7 +640,13 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
                 bucket.compareAndSetAsync(putRequest.getExpectedValue(), putRequest.getValue())
                         .thenAccept(s -> completeFuture(s, f, mutationId));
             }
-        });
+        };
+        if (putRequest.getExpectedValue() == null) {
+            performOverwriteOperation(putRequest.getKey(), f, putRequest.getMutationId(), operation);
+        } else {
+            performBatchOperation(putRequest.getKey(), f, operation);
+        }
+        invalidateOnCompletion(putRequest.getKey(), f);
         return f;
     }
 
@@ -324,8 +655,8 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
         validate(request);
         request.withKey(addNamespace(request.getKey(), request.getNamespaceEnabled()));
         CompletableFuture<String> f = new CompletableFuture<>();
-        performBatchOperation(v -> {
-            RScoredSortedSetAsync<String> sset = currentBatch.getScoredSortedSet(request.getKey());
+        performBatchOperation(request.getKey(), f, batch -> {
+            RScoredSortedSetAsync<String> sset = batch.getScoredSortedSet(request.getKey());
             final String mutationId = request.getMutationId();
             sset.addAsync(request.getScore(), request.getValue())
                     .thenAccept(s -> completeFuture(s, f, mutationId));
@@ -338,8 +669,8 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
         validate(request);
         request.withKey(addNamespace(request.getKey(), request.getNamespaceEnabled()));
         CompletableFuture<String> f = new CompletableFuture<>();
-        performBatchOperation(v -> {
-            RScoredSortedSetAsync<T> sset = currentBatch.getScoredSortedSet(request.getKey());
+        performBatchOperation(request.getKey(), f, batch -> {
+            RScoredSortedSetAsync<T> sset = batch.getScoredSortedSet(request.getKey());
             final String mutationId = request.getMutationId();
             RFuture<Boolean> rf = sset.addAsync(request.getScore(), request.getValue());
             rf.thenAccept(s -> completeFuture(s, f, mutationId));
@@ -351,14 +682,37 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
     public void delete(String key) {
         key = addNamespace(key, true);
         RBucket<String> bucket = redissonClient.getBucket(key);
-        bucket.delete();
+        delete(bucket);
+        invalidate(key);
     }
 
     @Override
     public void delete(DeleteEntryRequest deleteRequest) {
         validate(deleteRequest);
         deleteRequest.withKey(addNamespace(deleteRequest.getKey(), deleteRequest.getNamespaceEnabled()));
-        redissonClient.getBucket(deleteRequest.getKey()).delete();
+        delete(redissonClient.getBucket(deleteRequest.getKey()));
+        invalidate(deleteRequest.getKey());
+    }
+
+    /**
+     * Deletes all requested keys in one DEL, or UNLINK if enabled. In cluster mode the keys are split by slot
+     * and deleted on the masters in parallel.
+     */
+    @Override
+    public long deleteAll(Collection<DeleteEntryRequest> deleteRequests) {
+        if (deleteRequests.isEmpty()) {
+            return 0L;
+        }
+        String[] keys = new String[deleteRequests.size()];
+        int i = 0;
+        for (DeleteEntryRequest deleteRequest : deleteRequests) {
+            validate(deleteRequest);
+            keys[i++] = addNamespace(deleteRequest.getKey(), deleteRequest.getNamespaceEnabled());
+        }
+        RKeys rkeys = redissonClient.getKeys();
+        long deleted = unlinkEnabled ? rkeys.unlink(keys) : rkeys.delete(keys);
+        Arrays.stream(keys).forEach(this::invalidate);
+        return deleted;
     }
 
     @Override
@@ -366,17 +720,325 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
         validate(deleteRequest);
         deleteRequest.withKey(addNamespace(deleteRequest.getKey(), deleteRequest.getNamespaceEnabled()));
         CompletableFuture<String> f = new CompletableFuture<>();
-        performBatchOperation(v -> {
-            RBucketAsync<String> bucket = currentBatch.getBucket(deleteRequest.getKey());
+        performOverwriteOperation(deleteRequest.getKey(), f, deleteRequest.getMutationId(), batch -> {
+            RBucketAsync<String> bucket = batch.getBucket(deleteRequest.getKey());
             final String mutationId = deleteRequest.getMutationId();
-            bucket.deleteAsync().thenAccept(s -> f.complete(mutationId));
+            RFuture<Boolean> deleted = unlinkEnabled ? bucket.unlinkAsync() : bucket.deleteAsync();
+            deleted.thenAccept(s -> f.complete(mutationId));
 
         });
+        invalidateOnCompletion(deleteRequest.getKey(), f);
         return f;
     }
 
     public void setBatchSize(int batchSize) {
         this.batchSize = batchSize;
+        pipeline.configure(p -> p.setBatchSize(batchSize));
+    }
+
+    public void setLingerMs(long lingerMs) {
+        this.lingerMs = lingerMs;
+        pipeline.configure(p -> p.setLingerMs(lingerMs));
+    }
+
+    public void setReadLingerMs(long readLingerMs) {
+        this.readLingerMs = readLingerMs;
+        pipeline.configure(p -> p.setReadLingerMs(readLingerMs));
+    }
+
+    public void setAsyncOperationTimeoutMs(long asyncOperationTimeoutMs) {
+        this.asyncOperationTimeoutMs = asyncOperationTimeoutMs;
+        pipeline.configure(p -> p.setOperationTimeoutMs(asyncOperationTimeoutMs));
+    }
+
+    public void setMaxPendingOperations(int maxPendingOperations) {
+        this.maxPendingOperations = maxPendingOperations;
+        pipeline.configure(p -> p.setMaxPendingOperations(maxPendingOperations));
+    }
+
+    public void setMaxInFlightBatches(int maxInFlightBatches) {
+        this.maxInFlightBatches = maxInFlightBatches;
+        pipeline.configure(p -> p.setMaxInFlightBatches(effectiveMaxInFlightBatches()));
+    }
+
+    public void setBackpressurePolicy(BackpressurePolicy backpressurePolicy) {
+        this.backpressurePolicy = backpressurePolicy;
+        pipeline.configure(p -> p.setBackpressurePolicy(backpressurePolicy));
+    }
+
+    public void setDrainTimeoutMs(long drainTimeoutMs) {
+        this.drainTimeoutMs = drainTimeoutMs;
+        pipeline.configure(p -> p.setDrainTimeoutMs(drainTimeoutMs));
+    }
+
+    public void setCoalescingEnabled(boolean coalescingEnabled) {
+        this.coalescingEnabled = coalescingEnabled;
+        pipeline.configure(p -> p.setCoalescingEnabled(coalescingEnabled));
+    }
+
+    public long getCoalescedOperationCount() {
+        return pipeline.sum(AsyncBatchPipeline::getCoalescedOperationCount);
+    }
+
+    public void setAdaptiveTargetLatencyMs(long adaptiveTargetLatencyMs) {
+        this.adaptiveTargetLatencyMs = adaptiveTargetLatencyMs;
+        pipeline.configure(p -> p.setAdaptiveTargetLatencyMs(adaptiveTargetLatencyMs));
+    }
+
+    public void setAdaptiveMinBatchSize(int adaptiveMinBatchSize) {
+        this.adaptiveMinBatchSize = adaptiveMinBatchSize;
+        pipeline.configure(p -> p.setAdaptiveMinBatchSize(adaptiveMinBatchSize));
+    }
+
+    /**
+     * Sets the number of async pipeline stripes. Must be called before the cache is initialized.
+     *
+     * @param pipelineStripes number of stripes, 1 for a single pipeline
+     */
+    public void setPipelineStripes(int pipelineStripes) {
+        this.pipelineStripes = pipelineStripes;
+        pipeline = pipelineStripes > 1 ? StripedAsyncPipeline.bySlot(batchFactory, pipelineStripes)
+                : StripedAsyncPipeline.single(batchFactory);
+        configurePipeline();
+    }
+
+    /**
+     * Enables or disables the near cache. Enabling it subscribes to the invalidation topic, so the Redisson
+     * client must be set. Entities cached on the heap are shared: getEntity returns the same instance to every
+     * caller, so callers must not modify it.
+     *
+     * @param nearCacheEnabled whether to cache values read with getString and getEntity in process
+     */
+    public synchronized void setNearCacheEnabled(boolean nearCacheEnabled) {
+        this.nearCacheEnabled = nearCacheEnabled;
+        nearCache = null;
+        if (nearCacheEnabled) {
+            OffHeapStore offHeap = nearCacheOffHeapCapacityBytes > 0
+                    ? new OffHeapStore(nearCacheOffHeapCapacityBytes, nearCacheOffHeapSlabSizeBytes) : null;
+            nearCache = new NearCache(nearCacheMaxSize, nearCacheMaxTtlMs, offHeap);
+            LOGGER.info("Near cache enabled with max size {}, max ttl {} ms and {} invalidation",
+                    nearCacheMaxSize, nearCacheMaxTtlMs, nearCacheInvalidation);
+        }
+        configureInvalidation();
+    }
+
+    /**
+     * Sets up the topic writes publish invalidations to, and subscribes the near cache and the negative cache,
+     * if enabled, to the invalidations of written keys.
+     */
+    private synchronized void configureInvalidation() {
+        if (invalidationSubscription != null) {
+            invalidationSubscription.unsubscribe();
+            invalidationSubscription = null;
+        }
+        String topicName = invalidationTopicName();
+        invalidationTopic = topicName == null ? null : redissonClient.getTopic(topicName, stringCodec);
+        if (nearCache == null && negativeCache == null) {
+            return;
+        }
+        InvalidationSubscription subscription =
+                new InvalidationSubscription(this::invalidateLocally, this::invalidateAllLocally);
+        if (nearCacheInvalidation == NearCacheInvalidation.KEYSPACE) {
+            subscription.subscribe(redissonClient.getPatternTopic(keyspacePattern(), stringCodec));
+        } else {
+            subscription.subscribe(invalidationTopic);
+        }
+        invalidationSubscription = subscription;
+    }
+
+    /**
+     * Returns the topic writes publish invalidations to: the configured topic, or the default topic if the
+     * near cache or the negative cache of this instance is enabled, unless Redis notifies the writes itself.
+     */
+    private String invalidationTopicName() {
+        if (nearCacheInvalidation != NearCacheInvalidation.TOPIC) {
+            return null;
+        }
+        if (StringUtils.isNotBlank(nearCacheInvalidationTopic)) {
+            return nearCacheInvalidationTopic;
+        }
+        return nearCache != null || negativeCache != null ? DEFAULT_INVALIDATION_TOPIC : null;
+    }
+
+    /**
+     * Sets the topic on which writes publish the keys they wrote. Writes publish to it even if the near cache
+     * of this instance is disabled, so set it on every instance writing keys that near caches may hold.
+     *
+     * @param nearCacheInvalidationTopic the topic name, or blank to publish only if the near cache is enabled
+     */
+    public synchronized void setNearCacheInvalidationTopic(String nearCacheInvalidationTopic) {
+        this.nearCacheInvalidationTopic = nearCacheInvalidationTopic;
+        configureInvalidation();
+    }
+
+    /**
+     * Returns the pattern of the keyspace notification channels of the keys under the key namespace, or of
+     * all keys if no namespace is set.
+     */
+    private String keyspacePattern() {
+        String prefix = StringUtils.isNotEmpty(redisKeyNamespace)
+                ? redisKeyNamespace + REDIS_KEY_NAMESPACE_DELIMETER : "";
+        return KEYSPACE_CHANNEL_PREFIX + prefix + "*";
+    }
+
+    public void setNearCacheInvalidation(NearCacheInvalidation nearCacheInvalidation) {
+        this.nearCacheInvalidation = nearCacheInvalidation;
+    }
+
+    /**
+     * Backs the maps of entities whose key, without namespace, starts with one of the prefixes by an
+     * RLocalCachedMap, so reads of their fields are served from a local cache. The Redisson client must be set.
+     *
+     * @param prefixes prefixes of the map keys; none to disable local cached maps
+     */
+    public synchronized void setLocalCachedMapPrefixes(String... prefixes) {
+        this.localCachedMapPrefixes = prefixes;
+        if (localCachedMaps != null) {
+            localCachedMaps.close();
+            localCachedMaps = null;
+        }
+        if (Arrays.stream(prefixes).anyMatch(StringUtils::isNotBlank)) {
+            localCachedMaps = new LocalCachedMaps(prefixes, effectiveLocalCachedMapMaxMaps(),
+                    key -> redissonClient.getLocalCachedMap(localCachedMapOptions(key)));
+            LOGGER.info("Local cached maps enabled for key prefixes {}, sync strategy {}",
+                    Arrays.toString(prefixes), localCachedMapSyncStrategy);
+        }
+    }
+
+    public void setLocalCachedMapSyncStrategy(LocalCachedMapOptions.SyncStrategy localCachedMapSyncStrategy) {
+        this.localCachedMapSyncStrategy = localCachedMapSyncStrategy;
+    }
+
+    /**
+     * Sets the time a key found absent by getString or getEntity is remembered. Puts and deletes forget the
+     * key, on other instances through the same invalidations as the near cache. Enabling it subscribes to
+     * these invalidations, so the Redisson client must be set.
+     *
+     * @param negativeCacheTtlMs time in milliseconds; 0 disables negative caching
+     */
+    public synchronized void setNegativeCacheTtlMs(long negativeCacheTtlMs) {
+        this.negativeCacheTtlMs = negativeCacheTtlMs;
+        negativeCache = negativeCacheTtlMs > 0 ? new NegativeCache(negativeCacheMaxSize, negativeCacheTtlMs) : null;
+        if (negativeCache != null) {
+            LOGGER.info("Negative cache enabled with max size {} and ttl {} ms",
+                    negativeCacheMaxSize, negativeCacheTtlMs);
+        }
+        configureInvalidation();
+    }
+
+    /**
+     * Returns the number of getString and getEntity reads skipped because the key was recently found absent.
+     *
+     * @return negative cache hits
+     */
+    public long getNegativeCacheHitCount() {
+        NegativeCache absent = negativeCache;
+        return absent == null ? 0L : absent.getHitCount();
+    }
+
+    public void setNearCacheOffHeapCapacityBytes(long nearCacheOffHeapCapacityBytes) {
+        this.nearCacheOffHeapCapacityBytes = nearCacheOffHeapCapacityBytes;
+    }
+
+    public void setNearCacheMaxSize(int nearCacheMaxSize) {
+        this.nearCacheMaxSize = nearCacheMaxSize;
+    }
+
+    public void setNearCacheMaxTtlMs(long nearCacheMaxTtlMs) {
+        this.nearCacheMaxTtlMs = nearCacheMaxTtlMs;
+    }
+
+    /**
+     * Returns the number of getString and getEntity reads served by the near cache.
+     *
+     * @return near cache hits
+     */
+    public long getNearCacheHitCount() {
+        NearCache cache = nearCache;
+        return cache == null ? 0L : cache.getHitCount();
+    }
+
+    /**
+     * Returns the number of getString and getEntity reads the near cache could not serve.
+     *
+     * @return near cache misses
+     */
+    public long getNearCacheMissCount() {
+        NearCache cache = nearCache;
+        return cache == null ? 0L : cache.getMissCount();
+    }
+
+    /**
+     * Returns the registry of the Lua scripts invoked by this cache. Applications can register their own
+     * scripts in it to invoke them with EVALSHA.
+     *
+     * @return the script registry
+     */
+    public RedisScriptRegistry getScriptRegistry() {
+        return scriptRegistry;
+    }
+
+    public void setEvalShaEnabled(boolean evalShaEnabled) {
+        this.evalShaEnabled = evalShaEnabled;
+    }
+
+    public void setRegexScanEngine(RegexScanEngine regexScanEngine) {
+        this.regexScanEngine = regexScanEngine;
+    }
+
+    public void setUnlinkEnabled(boolean unlinkEnabled) {
+        this.unlinkEnabled = unlinkEnabled;
+    }
+
+    public void setPerKeyOrderingEnabled(boolean perKeyOrderingEnabled) {
+        this.perKeyOrderingEnabled = perKeyOrderingEnabled;
+        pipeline.configure(p -> p.setMaxInFlightBatches(effectiveMaxInFlightBatches()));
+    }
+
+    /**
+     * Returns the batch size currently used by the async pipeline, which only differs from
+     * redis.pipeline.size if adaptive sizing is enabled. With multiple stripes, the smallest of them.
+     *
+     * @return the effective batch size
+     */
+    public int getEffectiveBatchSize() {
+        return pipeline.min(AsyncBatchPipeline::currentBatchSize);
+    }
+
+    public void setSkipResultEnabled(boolean skipResultEnabled) {
+        this.skipResultEnabled = skipResultEnabled;
+        BatchOptions skipResultOptions = skipResultEnabled ? batchOptions(true) : null;
+        pipeline.configure(p -> p.setSkipResultOptions(skipResultOptions));
+    }
+
+    public long getSkipResultBatchCount() {
+        return pipeline.sum(AsyncBatchPipeline::getSkipResultBatchCount);
+    }
+
+    public void setSingleFlightEnabled(boolean singleFlightEnabled) {
+        this.singleFlightEnabled = singleFlightEnabled;
+    }
+
+    public long getSharedReadCount() {
+        return singleFlightReads.getSharedReadCount() + singleFlightAsyncReads.getSharedReadCount();
+    }
+
+    public long getDroppedOperationCount() {
+        return pipeline.sum(AsyncBatchPipeline::getDroppedOperationCount);
+    }
+
+    public long getRejectedOperationCount() {
+        return pipeline.sum(AsyncBatchPipeline::getRejectedOperationCount);
+    }
+
+    /**
+     * Returns the number of batches executed so far for the given reason.
+     *
+     * @param reason the flush reason
+     * @return number of batches flushed for the reason
+     */
+    public long getBatchFlushCount(BatchFlushReason reason) {
+        return pipeline.sum(p -> p.getFlushCount(reason));
     }
 
     /**
@@ -386,95 +1048,376 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
     public <T extends IgniteEntity> Map<String, T> getKeyValuePairsForRegex(
             String keyRegex, Optional<Boolean> namespaceEnabled) {
         Map<String, T> keyValuePairs = new HashMap<>();
+        this.<T>scanKeyValuePairsForRegex(keyRegex, namespaceEnabled, SCAN_START_CURSOR, (key, entity) -> {
+            keyValuePairs.put(key, entity);
+            return true;
+        });
+        LOGGER.debug("Key Value Pairs for regex {} of total size {} being returned", keyRegex, keyValuePairs.size());
+        return keyValuePairs;
+    }
+
+    /**
+     * Scans redis keys with the regex provided one SCAN page at a time and passes each decoded key value pair
+     * to the consumer, so only a single page per node is held in memory. In cluster mode every master is
+     * scanned with its own cursor; the next page of each master is fetched in parallel while the consumer
+     * processes the current one.
+     */
+    @Override
+    public <T extends IgniteEntity> String scanKeyValuePairsForRegex(String keyRegex,
+            Optional<Boolean> namespaceEnabled, String cursor, BiPredicate<String, T> consumer) {
+        return scan(namespacedRegex(keyRegex, namespaceEnabled), cursor, consumer,
+                ScanBudget.unlimited(effectiveScanLimit()));
+    }
+
+    /**
+     * Scans redis keys with the regex provided until maxResults key value pairs are found or the time budget
+     * is spent. The number of keys each SCAN page asks for is tuned so that a page takes about a quarter of the
+     * budget, up to redis.scan.limit. A page stopped within a SCAN reply is resumed by repeating that SCAN with
+     * the COUNT recorded in the cursor, whatever the page size tuned by the resuming call.
+     */
+    @Override
+    public <T extends IgniteEntity> RegexScanPage<T> getKeyValuePairsForRegex(String keyRegex,
+            Optional<Boolean> namespaceEnabled, String cursor, int maxResults, long timeBudgetMs) {
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("maxResults must be positive");
+        }
+        ScanBudget budget = ScanBudget.timed(timeBudgetMs, (int) TEN.getValue(), effectiveScanLimit());
+        Map<String, T> entries = new LinkedHashMap<>();
+        String nextCursor = this.<T>scan(namespacedRegex(keyRegex, namespaceEnabled), cursor, (key, entity) -> {
+            entries.put(key, entity);
+            return entries.size() < maxResults && !budget.isExhausted();
+        }, budget);
+        return new RegexScanPage<>(entries, nextCursor);
+    }
+
+    /**
+     * Runs a scan from the cursor until it completes, the consumer stops it, or the budget is spent, and
+     * returns the cursor to resume it from.
+     */
+    private <T extends IgniteEntity> String scan(String pattern, String cursor, BiPredicate<String, T> consumer,
+            ScanBudget budget) {
+        Map<String, ScanCursor> positions = ScanCursor.parse(cursor, scanNodes());
+        LOGGER.debug("Scanning Redis with ScanLimit {} and keyRegex {} on {} nodes from cursor {}",
+                budget.getPageSize(), pattern, positions.size(), cursor);
+        Map<String, CompletableFuture<ScanPage>> pages = new HashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        positions.forEach((node, position) ->
+                pages.put(node, scanPageAsync(node, pattern, position, budget, counts)));
+        while (!pages.isEmpty()) {
+            String node = awaitAnyPage(pages);
+            ScanPage page = joinPage(pages.remove(node));
+            ScanCursor position = positions.get(node);
+            long nextCursor = page.getCursor();
+            LOGGER.debug("Received cursor value {} and {} keys from node {}", nextCursor, page.size(), node);
+            int stoppedAt = deliverPage(page, position.getDelivered(), consumer);
+            if (stoppedAt >= 0 && stoppedAt < page.size()) {
+                positions.put(node, new ScanCursor(position.getCursor(), stoppedAt, counts.get(node)));
+            } else if (nextCursor == 0L) {
+                positions.remove(node);
+            } else {
+                ScanCursor next = new ScanCursor(nextCursor);
+                positions.put(node, next);
+                if (stoppedAt < 0) {
+                    pages.put(node, scanPageAsync(node, pattern, next, budget, counts));
+                }
+            }
+            if (stoppedAt >= 0 || budget.isExhausted()) {
+                String resumeCursor = ScanCursor.format(positions);
+                LOGGER.debug("Regex scan for {} stopped at cursor {}", pattern, resumeCursor);
+                return resumeCursor;
+            }
+        }
+        return SCAN_START_CURSOR;
+    }
+
+    /**
+     * Decodes the entries of a scanned page after the first skip ones and passes them to the consumer. Keys
+     * deleted before their value was read are skipped but still counted.
+     *
+     * @return the number of entries of the page scanned when the consumer stopped the scan, or -1 if it did not
+     */
+    private <T extends IgniteEntity> int deliverPage(ScanPage page, int skip, BiPredicate<String, T> consumer) {
+        for (int index = skip; index < page.size(); index++) {
+            String key = page.getKey(index);
+            Object value = page.getValue(index);
+            if (value == null) {
+                continue;
+            }
+            T entity = decodeScannedValue(key, value);
+            if (!consumer.test(key, entity)) {
+                return index + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the nodes a key scan has to cover: every master owning slots in cluster mode, each identified by
+     * a key routed to it, or {@link ScanCursor#SINGLE_NODE} otherwise.
+     */
+    private List<String> scanNodes() {
+        if (!redissonClient.getConfig().isClusterConfig()) {
+            return Collections.singletonList(ScanCursor.SINGLE_NODE);
+        }
+        RedisCluster cluster = redissonClient.getRedisNodes(RedisNodes.CLUSTER);
+        return cluster.getMasters().stream()
+                .map(IgniteCacheRedisImpl::ownSlotRanges)
+                .filter(ranges -> !ranges.isEmpty())
+                .map(ranges -> ClusterSlots.keyInSlots(slot -> ranges.stream()
+                        .anyMatch(range -> slot >= range.getStartSlot() && slot <= range.getEndSlot())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the slot ranges served by the master. CLUSTER SLOTS describes the whole cluster, listing the
+     * addresses of the master and replicas of every range, so only the ranges listing the master are kept.
+     */
+    private static List<ClusterSlotRange> ownSlotRanges(RedisClusterMaster master) {
+        InetSocketAddress addr = master.getAddr();
+        Set<String> names = new HashSet<>();
+        names.add(addr.getHostString() + ":" + addr.getPort());
+        if (addr.getAddress() != null) {
+            names.add(addr.getAddress().getHostAddress() + ":" + addr.getPort());
+        }
+        return master.clusterSlots().entrySet().stream()
+                .filter(range -> range.getValue().stream().anyMatch(names::contains))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static String awaitAnyPage(Map<String, CompletableFuture<ScanPage>> pages) {
+        CompletableFuture.anyOf(pages.values().toArray(new CompletableFuture<?>[0])).exceptionally(t -> null).join();
+        return pages.entrySet().stream()
+                .filter(page -> page.getValue().isDone())
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static ScanPage joinPage(CompletableFuture<ScanPage> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    private String namespacedRegex(String keyRegex, Optional<Boolean> namespaceEnabled) {
         if ((namespaceEnabled.isPresent() && Boolean.TRUE.equals(namespaceEnabled.get()))
                 || namespaceEnabled.isEmpty()) {
-            keyRegex = addNamespace(keyRegex, true);
+            return addNamespace(keyRegex, true);
         }
+        return keyRegex;
+    }
+
+    private int effectiveScanLimit() {
         if (scanLimit < TEN.getValue()) {
             scanLimit = (int) TEN.getValue();
             LOGGER.warn("Scan limit for redis cache should be at least 10. Changing scan limit to 10");
         }
-        LOGGER.debug("Scanning Redis with ScanLimit {} and keyRegex {}", scanLimit, keyRegex);
-        long cursor = 0L;
-        do {
-            List<Object> matches = redissonClient.getScript(stringCodec).eval(RScript.Mode.READ_ONLY,
-                    scanRegexScript,
-                    RScript.ReturnType.MULTI, Collections.emptyList(), cursor, scanLimit, keyRegex);
-            if (!matches.isEmpty()) {
-                cursor = (long) matches.get(0);
-                LOGGER.debug("Received cursor value {}", cursor);
-            } else {
-                cursor = 0L;
-                LOGGER.error("No more result found for regex scan. Exiting !!!");
+        return scanLimit;
+    }
+
+    /**
+     * Requests the page of the position with the COUNT recorded in it, or with the page size of the budget at a
+     * page boundary, and records the COUNT used in counts.
+     */
+    private CompletableFuture<ScanPage> scanPageAsync(String node, String pattern, ScanCursor position,
+            ScanBudget budget, Map<String, Integer> counts) {
+        int count = position.getCount() > 0 ? position.getCount() : budget.getPageSize();
+        counts.put(node, count);
+        long start = System.nanoTime();
+        return scanPageAsync(node, pattern, position.getCursor(), count).whenComplete((page, t) -> {
+            if (t == null) {
+                budget.pageCompleted(System.nanoTime() - start);
             }
-            int size = matches.size();
-            for (int index = 1; index < size; index = (int) (index + TWO.getValue())) {
-                String key = String.valueOf(matches.get(index));
-                String value = String.valueOf(matches.get(index + 1));
-                T entity;
-                try {
-                    entity = (T) decoder.decode(Unpooled.wrappedBuffer(value.getBytes()), null);
-                    LOGGER.debug("Decoded entity for key {} is {}", key, entity);
-                    keyValuePairs.put(key, entity);
-                } catch (IOException e) {
-                    LOGGER.error("Unable to decode value {} from cache for key {}", value, key, e);
-                    throw new DecodeException(
-                            String.format("Unable to decode value %s from cache for key %s", value, key), e);
-                }
+        });
+    }
+
+    private CompletableFuture<ScanPage> scanPageAsync(String node, String pattern, long cursor, int count) {
+        if (regexScanEngine == RegexScanEngine.LUA) {
+            return evalScanScript(node, SCAN_REGEX_SCRIPT, pattern, cursor, count).thenApply(ScanPage::ofKeyValues);
+        }
+        return evalScanScript(node, SCAN_KEYS_SCRIPT, pattern, cursor, count).thenCompose(reply -> {
+            long nextCursor = reply.isEmpty() ? 0L : ScanPage.cursor(reply.get(0));
+            List<String> keys = reply.stream().skip(1).map(ScanPage::string).collect(Collectors.toList());
+            if (keys.isEmpty()) {
+                return CompletableFuture.completedFuture(ScanPage.ofKeys(nextCursor, keys, Collections.emptyMap()));
             }
-        } while (cursor > 0);
-        LOGGER.debug("Key Value Pairs for regex {} of total size {} being returned are as follows {}",
-                keyRegex,
-                keyValuePairs.size(),
-                keyValuePairs);
-        return keyValuePairs;
+            RFuture<Map<String, Object>> values = redissonClient.getBuckets(ByteArrayCodec.INSTANCE)
+                    .getAsync(keys.toArray(new String[0]));
+            return values.toCompletableFuture().thenApply(v -> ScanPage.ofKeys(nextCursor, keys, v));
+        });
+    }
+
+    /**
+     * Runs one page of the named scan script on the node, or on the only node outside cluster mode. The reply
+     * is read as raw bytes so that values can be decoded without converting them to strings first.
+     */
+    private CompletableFuture<List<Object>> evalScanScript(String node, String name, String pattern, long cursor,
+            int count) {
+        String routingKey = ScanCursor.SINGLE_NODE.equals(node) ? null : node;
+        Object[] args = scanScriptArgs(cursor, count, pattern);
+        if (evalShaEnabled) {
+            return scriptRegistry.evalAsync(name, ByteArrayCodec.INSTANCE, routingKey, RScript.Mode.READ_ONLY,
+                    RScript.ReturnType.MULTI, Collections.emptyList(), args);
+        }
+        RScript rscript = redissonClient.getScript(ByteArrayCodec.INSTANCE);
+        String script = scriptRegistry.getScript(name);
+        RFuture<List<Object>> reply = routingKey == null
+                ? rscript.evalAsync(RScript.Mode.READ_ONLY, script, RScript.ReturnType.MULTI,
+                        Collections.emptyList(), args)
+                : rscript.evalAsync(routingKey, RScript.Mode.READ_ONLY, script, RScript.ReturnType.MULTI,
+                        Collections.emptyList(), args);
+        return reply.toCompletableFuture();
+    }
+
+    /**
+     * Returns the arguments of a scan script as UTF-8 bytes. The script codec is ByteArrayCodec, whose
+     * encoder only accepts byte arrays.
+     */
+    static Object[] scanScriptArgs(long cursor, int count, String pattern) {
+        return new Object[] {
+            String.valueOf(cursor).getBytes(StandardCharsets.UTF_8),
+            String.valueOf(count).getBytes(StandardCharsets.UTF_8),
+            pattern.getBytes(StandardCharsets.UTF_8)
+        };
+    }
+
+    private <T extends IgniteEntity> T decodeScannedValue(String key, Object value) {
+        return decodeValue(key, value, decoder);
+    }
+
+    /**
+     * Decodes a serialized entity cached off heap with the value codec of the client, which encoded it.
+     */
+    private <T extends IgniteEntity> T decodeCachedValue(String key, byte[] value) {
+        return decodeValue(key, value, redissonClient.getConfig().getCodec().getValueDecoder());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends IgniteEntity> T decodeValue(String key, Object value, Decoder<Object> valueDecoder) {
+        byte[] bytes = value instanceof byte[] raw ? raw : String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        try {
+            T entity = (T) valueDecoder.decode(Unpooled.wrappedBuffer(bytes), null);
+            LOGGER.debug("Decoded entity for key {} is {}", key, entity);
+            return entity;
+        } catch (IOException e) {
+            String text = ScanPage.string(value);
+            LOGGER.error("Unable to decode value {} from cache for key {}", text, key, e);
+            throw new DecodeException(
+                    String.format("Unable to decode value %s from cache for key %s", text, key), e);
+        }
     }
 
     @Override
     public <T extends IgniteEntity> void putMapOfEntities(PutMapOfEntitiesRequest<T> mapRequest) {
         validate(mapRequest);
+        boolean localCached = isLocalCachedMap(mapRequest.getKey());
         mapRequest.withKey(addNamespace(mapRequest.getKey(), mapRequest.getNamespaceEnabled()));
         String key = mapRequest.getKey();
         Map<String, T> value = mapRequest.getValue();
 
-        RMap<String, T> rmap = redissonClient.getMap(key);
-        rmap.putAll(value);
+        this.<T, Void>withMap(key, localCached, rmap -> {
+            rmap.putAll(value);
+            return null;
+        });
         LOGGER.debug("Put map {} to Redis for key {}", value, key);
     }
 
     @Override
     public <T extends IgniteEntity> Map<String, T> getMapOfEntities(GetMapOfEntitiesRequest mapRequest) {
         validate(mapRequest);
+        boolean localCached = isLocalCachedMap(mapRequest.getKey());
         mapRequest.withKey(addNamespace(mapRequest.getKey(), mapRequest.getNamespaceEnabled()));
         String key = mapRequest.getKey();
 
-        RMap<String, T> rmap = redissonClient.getMap(key);
         Set<String> fields = mapRequest.getFields();
         if (fields != null && !fields.isEmpty()) {
             LOGGER.debug("Attempting to get key value pairs from Redis for subkeys {} with key {}", fields, key);
-            return rmap.getAll(fields);
+            return this.<T, Map<String, T>>withMap(key, localCached, rmap -> rmap.getAll(fields));
         } else {
             LOGGER.debug("Attempting to get all key value pairs from Redis with parent key {}", key);
-            return rmap.readAllMap();
+            return this.<T, Map<String, T>>withMap(key, localCached, RMap::readAllMap);
         }
     }
 
+    @Override
+    public <T extends IgniteEntity> CompletableFuture<Map<String, T>> getMapOfEntitiesAsync(
+            GetMapOfEntitiesRequest mapRequest) {
+        validate(mapRequest);
+        boolean localCached = isLocalCachedMap(mapRequest.getKey());
+        mapRequest.withKey(addNamespace(mapRequest.getKey(), mapRequest.getNamespaceEnabled()));
+        String key = mapRequest.getKey();
+        if (localCached) {
+            // served from the local cache where possible, so not queued in the pipeline
+            Set<String> fields = mapRequest.getFields();
+            return localCachedMaps.<T, Map<String, T>>useAsync(key, rmap ->
+                    fields != null && !fields.isEmpty() ? rmap.getAllAsync(fields) : rmap.readAllMapAsync());
+        }
+        CompletableFuture<Map<String, T>> f = new CompletableFuture<>();
+        performReadOperation(key, f, batch -> {
+            RMapAsync<String, T> rmap = batch.getMap(key);
+            Set<String> fields = mapRequest.getFields();
+            if (fields != null && !fields.isEmpty()) {
+                LOGGER.debug("Batching get of key value pairs for subkeys {} with key {}", fields, key);
+                rmap.getAllAsync(fields).thenAccept(f::complete);
+            } else {
+                LOGGER.debug("Batching get of all key value pairs with parent key {}", key);
+                rmap.readAllMapAsync().thenAccept(f::complete);
+            }
+        });
+        return f;
+    }
+
     @Override
     public void deleteMapOfEntities(DeleteMapOfEntitiesRequest request) {
         validate(request);
+        boolean localCached = isLocalCachedMap(request.getKey());
         request.withKey(addNamespace(request.getKey(), request.getNamespaceEnabled()));
         String key = request.getKey();
         Set<String> fields = request.getFields();
         if (fields != null && !fields.isEmpty()) {
             LOGGER.debug("Attempting to remove key value pairs from Redis for subkeys {} with key {}", fields, key);
-            redissonClient.getMap(key).fastRemove(fields.toArray());
+            withMap(key, localCached, rmap -> rmap.fastRemove(fields.toArray(new String[0])));
+        } else if (localCached) {
+            LOGGER.debug("Attempting to remove all key value pairs from local cached map with parent key {}", key);
+            // deleted through the local cached map, so the local caches of the other instances are cleared too
+            localCachedMaps.<Object, Void>use(key, rmap -> {
+                delete(rmap);
+                return null;
+            });
         } else {
             LOGGER.debug("Attempting to remove all key value pairs from Redis with parent key {}", key);
-            redissonClient.getMap(key).delete();
+            delete(redissonClient.getMap(key));
         }
 
     }
 
+    private boolean isLocalCachedMap(String key) {
+        LocalCachedMaps maps = localCachedMaps;
+        return maps != null && maps.isLocalCached(key);
+    }
+
+    /**
+     * Applies the action to the map of the key, through its local cached map if it has one.
+     */
+    private <T, R> R withMap(String key, boolean localCached, Function<RMap<String, T>, R> action) {
+        return localCached ? localCachedMaps.use(key, action) : action.apply(redissonClient.getMap(key));
+    }
+
+    private LocalCachedMapOptions<String, Object> localCachedMapOptions(String key) {
+        return LocalCachedMapOptions.<String, Object>name(key)
+                .cacheSize(localCachedMapCacheSize)
+                .timeToLive(Duration.ofMillis(localCachedMapTtlMs))
+                .evictionPolicy(localCachedMapEvictionPolicy)
+                .syncStrategy(localCachedMapSyncStrategy)
+                .reconnectionStrategy(localCachedMapReconnectionStrategy);
+    }
+
     private String addNamespace(String key, boolean namespaceEnabled) {
         if (StringUtils.isNotEmpty(redisKeyNamespace) && namespaceEnabled) {
             LOGGER.debug("Namespace enabled: {}, Namespace value for redis: {}, for key: {}",
@@ -486,58 +1429,298 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
     }
 
     /**
-     * Executes the batch operation consumer in a reliable way. <br>
-     * If a thread was performing a batch operation and another thread performed RBatch.execute() at the same time,
-     * then first thread will fail with IllegalStateException("Batch already has been executed").
-     * This method performs a retry for such scenarios. Also advances the batch state.
+     * Queues the batch operation in the async pipeline. <br>
+     * The operation is added to a batch by the thread draining the pipeline, either when
+     * batchSize operations are pending or when the linger time of the oldest operation elapses.
      *
+     * @param key the key the operation applies to
+     * @param f the future completed by the operation
      * @param c the batch operation consumer
-     * @throws RuntimeException
-     *         if NUM_BATCH_RETRIES exhausted, and it still fails
      */
-    private void performBatchOperation(Consumer<Void> c) {
-        for (int i = 1; i <= NUM_BATCH_RETRIES; i++) {
-            try {
-                c.accept(null);
-                break;
-            } catch (IllegalStateException ise) {
-                if (!ise.getMessage().contains("Batch already has been executed")) {
-                    throw ise;
-                }
-                if (i == NUM_BATCH_RETRIES) {
-                    throw new RedisBatchProcessingException(
-                            "Batch operation failed despite trying " + NUM_BATCH_RETRIES + " times");
-                }
-            } catch (NullPointerException npe) {
-                // This has been introduced because it was observed in
-                // integration test case
-                // IgniteCacheRedisImplIntegrationTest.testBatchConcurrentExecutionException()
-                if (i == NUM_BATCH_RETRIES) {
-                    LOGGER.warn("SetAsync invoked before a new batch was created", npe);
-                    throw new RedisBatchProcessingException(
-                            "Batch operation failed despite trying " + NUM_BATCH_RETRIES + " times");
-                }
+    private void performBatchOperation(String key, CompletableFuture<?> f, Consumer<RBatch> c) {
+        pipeline.submit(new PendingOperation(key, f, c));
+    }
+
+    /**
+     * Queues a read in the async pipeline. <br>
+     * Unlike other operations, the batch holding it is executed once the read linger time elapses.
+     *
+     * @param key the key the operation applies to
+     * @param f the future completed with the value read
+     * @param c the batch operation consumer
+     */
+    private void performReadOperation(String key, CompletableFuture<?> f, Consumer<RBatch> c) {
+        pipeline.submit(PendingOperation.read(key, f, c));
+    }
+
+    /**
+     * Queues an unconditional write replacing the whole value of the key in the async pipeline. <br>
+     * With write coalescing enabled, the write is dropped from its batch if a later unconditional write
+     * of the same key follows it; f is then completed with mutationId once the later write is acknowledged.
+     *
+     * @param key the key the operation applies to
+     * @param f the future completed by the operation
+     * @param mutationId the mutationId f is completed with
+     * @param c the batch operation consumer
+     */
+    private void performOverwriteOperation(String key, CompletableFuture<String> f, String mutationId,
+                                           Consumer<RBatch> c) {
+        pipeline.submit(PendingOperation.overwrite(key, f, mutationId, c));
+    }
+
+    /**
+     * Reads the value of a bucket from the near cache if enabled, and otherwise from Redis along with the
+     * remaining time to live of the key, which bounds how long the value is cached.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cachedRead(String key, Supplier<T> read) {
+        NearCache cache = nearCache;
+        if (cache == null) {
+            return singleFlight(key, read);
+        }
+        T cached = (T) cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.stamp(key);
+        return singleFlight(key, () -> {
+            RBatch batch = redissonClient.createBatch();
+            RBucketAsync<T> bucket = batch.getBucket(key);
+            RFuture<T> value = bucket.getAsync();
+            RFuture<Long> ttl = bucket.remainTimeToLiveAsync();
+            batch.execute();
+            cache.put(key, value.getNow(), ttl.getNow(), stamp);
+            return value.getNow();
+        });
+    }
+
+    /**
+     * Adds the read of a bucket to a batch, unless the near cache holds the key, and caches the value read
+     * along with the remaining time to live of the key if the near cache is enabled.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> cachedReadAsync(String key) {
+        NearCache cache = nearCache;
+        if (cache != null) {
+            T cached = (T) cache.get(key);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
             }
         }
-        advanceBatchState();
-    }
-
-    private void advanceBatchState() {
-        int size = batchCount.incrementAndGet();
-        if (size % batchSize == 0) {
-            // before executing the batch we will keep a reference and then swap
-            // the main reference to a new instance of batch so clients can
-            // continue adding to batch
-            RBatch existingBatch = currentBatch;
-            // now assign new batch to the same reference so that other threads
-            // see the new batch and not the old one (currentBatch is volatile)
-            startBatch();
-            LOGGER.debug("Executing batch asynchronously");
-            existingBatch.executeAsync().thenAccept(r -> {
-                LOGGER.debug("Executed batch asynchronously");
-                LOGGER.trace("Responses of last batch operation: {}",
-                        r.getResponses());
+        long stamp = cache == null ? 0L : cache.stamp(key);
+        return singleFlightAsync(key, () -> {
+            CompletableFuture<T> f = new CompletableFuture<>();
+            performReadOperation(key, f, batch -> {
+                RBucketAsync<T> bucket = batch.getBucket(key);
+                RFuture<T> value = bucket.getAsync();
+                if (cache != null) {
+                    value.thenAcceptBoth(bucket.remainTimeToLiveAsync(), (v, ttl) -> cache.put(key, v, ttl, stamp));
+                }
+                value.thenAccept(f::complete);
+            });
+            return f;
+        });
+    }
+
+    /**
+     * Reads an entity like {@link #cachedRead(String, Supplier)}, but if the near cache keeps entities off heap,
+     * reads the serialized entity instead and decodes it on every hit.
+     */
+    private <T extends IgniteEntity> T cachedEntityRead(String key, Supplier<T> read) {
+        NearCache cache = nearCache;
+        if (cache == null || !cache.isOffHeap()) {
+            return cachedRead(key, read);
+        }
+        byte[] cached = cache.getBytes(key);
+        if (cached != null) {
+            return decodeCachedValue(key, cached);
+        }
+        long stamp = cache.stamp(key);
+        return singleFlight(key, () -> {
+            RBatch batch = redissonClient.createBatch();
+            RBucketAsync<byte[]> bucket = batch.getBucket(key, ByteArrayCodec.INSTANCE);
+            RFuture<byte[]> value = bucket.getAsync();
+            RFuture<Long> ttl = bucket.remainTimeToLiveAsync();
+            batch.execute();
+            cache.putBytes(key, value.getNow(), ttl.getNow(), stamp);
+            return value.getNow() == null ? null : decodeCachedValue(key, value.getNow());
+        });
+    }
+
+    private <T extends IgniteEntity> CompletableFuture<T> cachedEntityReadAsync(String key) {
+        NearCache cache = nearCache;
+        if (cache == null || !cache.isOffHeap()) {
+            return cachedReadAsync(key);
+        }
+        byte[] cached = cache.getBytes(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(decodeCachedValue(key, cached));
+        }
+        long stamp = cache.stamp(key);
+        return singleFlightAsync(key, () -> {
+            CompletableFuture<T> f = new CompletableFuture<>();
+            performReadOperation(key, f, batch -> {
+                RBucketAsync<byte[]> bucket = batch.getBucket(key, ByteArrayCodec.INSTANCE);
+                RFuture<byte[]> value = bucket.getAsync();
+                value.thenAcceptBoth(bucket.remainTimeToLiveAsync(), (v, ttl) -> cache.putBytes(key, v, ttl, stamp));
+                value.thenAccept(v -> completeDecoded(f, key, v));
             });
+            return f;
+        });
+    }
+
+    private <T extends IgniteEntity> void completeDecoded(CompletableFuture<T> f, String key, byte[] value) {
+        try {
+            f.complete(value == null ? null : decodeCachedValue(key, value));
+        } catch (DecodeException e) {
+            f.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Returns null without reading if the negative cache remembers the key as absent, and otherwise reads the key
+     * and remembers it if absent.
+     */
+    private <T> T readUnlessAbsent(String key, Supplier<T> read) {
+        NegativeCache absent = negativeCache;
+        if (absent == null) {
+            return read.get();
+        }
+        if (absent.isAbsent(key)) {
+            return null;
+        }
+        long stamp = absent.stamp(key);
+        T value = read.get();
+        if (value == null) {
+            absent.putAbsent(key, stamp);
+        }
+        return value;
+    }
+
+    private <T> CompletableFuture<T> readUnlessAbsentAsync(String key, Supplier<CompletableFuture<T>> read) {
+        NegativeCache absent = negativeCache;
+        if (absent == null) {
+            return read.get();
+        }
+        if (absent.isAbsent(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long stamp = absent.stamp(key);
+        CompletableFuture<T> f = read.get();
+        f.thenAccept(value -> {
+            if (value == null) {
+                absent.putAbsent(key, stamp);
+            }
+        });
+        return f;
+    }
+
+    /**
+     * Drops a key written by another instance or client from the local caches.
+     */
+    private void invalidateLocally(String key) {
+        NegativeCache absent = negativeCache;
+        if (absent != null) {
+            absent.invalidate(key);
+        }
+        NearCache cache = nearCache;
+        if (cache != null) {
+            cache.invalidateLocally(key);
+        }
+    }
+
+    private void invalidateAllLocally() {
+        NegativeCache absent = negativeCache;
+        if (absent != null) {
+            absent.invalidateAll();
+        }
+        NearCache cache = nearCache;
+        if (cache != null) {
+            cache.invalidateAllLocally();
+        }
+    }
+
+    /**
+     * Drops a written key from the local caches and publishes it to the caches of all instances.
+     */
+    private void invalidate(String key) {
+        invalidateLocally(key);
+        RTopic topic = invalidationTopic;
+        if (topic != null) {
+            topic.publishAsync(key);
+        }
+    }
+
+    private void invalidateOnCompletion(String key, CompletableFuture<String> f) {
+        if (negativeCache != null || nearCache != null || invalidationTopic != null) {
+            f.whenComplete((mutationId, t) -> invalidate(key));
+        }
+    }
+
+    /**
+     * Reads the value of a bucket, sharing the read with concurrent callers for the same key
+     * if single-flight reads are enabled.
+     */
+    private <T> T singleFlight(String key, Supplier<T> read) {
+        return singleFlightEnabled ? singleFlightReads.execute(key, read) : read.get();
+    }
+
+    private <T> CompletableFuture<T> singleFlightAsync(String key, Supplier<CompletableFuture<T>> read) {
+        return singleFlightEnabled ? singleFlightAsyncReads.executeAsync(key, read) : read.get();
+    }
+
+    /**
+     * Builds the options of pipelined batches. Returns null, meaning the client defaults, if nothing
+     * is configured.
+     */
+    private BatchOptions batchOptions(boolean skipResult) {
+        if (!skipResult && batchResponseTimeoutMs <= 0 && batchRetryAttempts < 0) {
+            return null;
+        }
+        BatchOptions options = BatchOptions.defaults();
+        if (batchResponseTimeoutMs > 0) {
+            options.responseTimeout(batchResponseTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+        if (batchRetryAttempts >= 0) {
+            options.retryAttempts(batchRetryAttempts);
+        }
+        return skipResult ? options.skipResult() : options;
+    }
+
+    /**
+     * Reads all keys with MGET, which Redisson splits by slot in cluster mode.
+     *
+     * @param keys the original keys by their namespaced keys
+     * @return values by original key, without the keys that do not exist
+     */
+    private <V> Map<String, V> getAll(Map<String, String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, V> found = redissonClient.getBuckets().get(keys.keySet().toArray(new String[0]));
+        Map<String, V> values = new HashMap<>(found.size());
+        found.forEach((key, value) -> values.put(keys.get(key), value));
+        return values;
+    }
+
+    private <V> void setAsync(RBucketAsync<V> bucket, V value, long ttlMs, V expectedValue) {
+        if (expectedValue != null) {
+            bucket.compareAndSetAsync(expectedValue, value);
+        } else if (ttlMs == MINUS_ONE_LONG) {
+            bucket.setAsync(value);
+        } else {
+            bucket.setAsync(value, ttlMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Deletes the object with UNLINK, which frees its memory in the background, if enabled, and with DEL otherwise.
+     */
+    private void delete(RObject object) {
+        if (unlinkEnabled) {
+            object.unlink();
+        } else {
+            object.delete();
         }
     }
 
@@ -555,19 +1738,26 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
     }
 
     // added to support test cases
-    @SuppressWarnings("checkstyle:AbbreviationAsWordInName")
-    void setRBatch(RBatch batch) {
-        this.currentBatch = batch;
+    void flushPendingOperations(BatchFlushReason reason) {
+        pipeline.flush(reason);
     }
 
     @PostConstruct
     private void postConstruct() {
         try {
-            scanRegexScript = readFile(regexScanFileName);
+            String scanRegexScript = readFile(regexScanFileName);
             LOGGER.info("Scan Regex file contents : {}", scanRegexScript);
+            scriptRegistry.register(SCAN_REGEX_SCRIPT, scanRegexScript);
         } catch (IOException e) {
             throw new IgniteCacheException(String.format("Unable to read from file : %s", regexScanFileName), e);
         }
+        try {
+            String scanKeysScript = readFile(scanKeysFileName);
+            LOGGER.info("Scan keys file contents : {}, regex scan engine : {}", scanKeysScript, regexScanEngine);
+            scriptRegistry.register(SCAN_KEYS_SCRIPT, scanKeysScript);
+        } catch (IOException e) {
+            throw new IgniteCacheException(String.format("Unable to read from file : %s", scanKeysFileName), e);
+        }
 
         if (StringUtils.isBlank(igniteCodecClass)) {
             LOGGER.info("Loading decoder from default JsonJacksonCodec class....");
@@ -598,14 +1788,70 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
                         String.format("Unable to load ignite json jackson codec : %s", igniteCodecClass), e);
             }
         }
-        startBatch();
+        if (pipelineStripes > 1) {
+            pipeline = StripedAsyncPipeline.bySlot(batchFactory, pipelineStripes);
+            LOGGER.info("Striped async pipeline by hash slot into {} stripes", pipelineStripes);
+        }
+        if (perKeyOrderingEnabled) {
+            LOGGER.info("Per key ordering enabled, one batch in flight per pipeline stripe");
+        }
+        configurePipeline();
+        pipeline.start();
+        setNearCacheEnabled(nearCacheEnabled);
+        setLocalCachedMapPrefixes(localCachedMapPrefixes);
+        setNegativeCacheTtlMs(negativeCacheTtlMs);
     }
 
-    private void startBatch() {
-        currentBatch = redissonClient.createBatch();
-        boolean updated = batchCount.compareAndSet(batchSize, 0);
-        if (updated) {
-            lastBatchExecTimestamp.set(System.currentTimeMillis());
+    /**
+     * Returns the number of local cached maps kept open, leaving at least half of the subscriptions of the client
+     * to the other Pub/Sub listeners, such as the near cache invalidations.
+     */
+    private int effectiveLocalCachedMapMaxMaps() {
+        int subscriptions = subscriptionConnectionPoolSize * subscriptionsPerConnection;
+        int maxMaps = Math.max(1, subscriptions / TWO.getValue());
+        if (localCachedMapMaxMaps > maxMaps) {
+            LOGGER.warn("Max local cached maps {} exceeds half of the {} Pub/Sub subscriptions of the client, using {}",
+                    localCachedMapMaxMaps, subscriptions, maxMaps);
+            return maxMaps;
+        }
+        return localCachedMapMaxMaps;
+    }
+
+    private int effectiveMaxInFlightBatches() {
+        // a batch is only executed once the previous batch of its stripe is acknowledged,
+        // and a key always maps to the same stripe
+        return perKeyOrderingEnabled ? 1 : maxInFlightBatches;
+    }
+
+    private void configurePipeline() {
+        BatchOptions options = batchOptions(false);
+        BatchOptions skipResultOptions = skipResultEnabled ? batchOptions(true) : null;
+        pipeline.configure(p -> {
+            p.setBatchSize(batchSize);
+            p.setLingerMs(lingerMs);
+            p.setReadLingerMs(readLingerMs);
+            p.setOperationTimeoutMs(asyncOperationTimeoutMs);
+            p.setMaxPendingOperations(maxPendingOperations);
+            p.setMaxInFlightBatches(effectiveMaxInFlightBatches());
+            p.setBackpressurePolicy(backpressurePolicy);
+            p.setDrainTimeoutMs(drainTimeoutMs);
+            p.setCoalescingEnabled(coalescingEnabled);
+            p.setAdaptiveTargetLatencyMs(adaptiveTargetLatencyMs);
+            p.setAdaptiveMinBatchSize(adaptiveMinBatchSize);
+            p.setBatchOptions(options);
+            p.setSkipResultOptions(skipResultOptions);
+        });
+    }
+
+    @PreDestroy
+    private void preDestroy() {
+        setNearCacheEnabled(false);
+        setNegativeCacheTtlMs(0L);
+        setLocalCachedMapPrefixes();
+        PipelineDrainReport report = pipeline.shutdown(drainTimeoutMs);
+        if (report.getAbandoned() > 0) {
+            LOGGER.error("{} async operations abandoned on shutdown, not acknowledged within {} ms",
+                    report.getAbandoned(), drainTimeoutMs);
         }
     }
 
@@ -628,6 +1874,10 @@ public class IgniteCacheRedisImpl implements IgniteCache, HealthMonitor {
         Objects.requireNonNull(request.getKey(), MANDATORY_KEY);
     }
 
+    private void validate(GetEntityRequest request) {
+        Objects.requireNonNull(request.getKey(), MANDATORY_KEY);
+    }
+
     private void validate(GetStringRequest request) {
         Objects.requireNonNull(request.getKey(), MANDATORY_KEY);
     }
@@ -0,0 +1,67 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts the invalidations of keys, striped by key hash, so that a value read from Redis is only cached if its
+ * key was not invalidated while it was read.<br>
+ * Take a stamp of the key before the read and check it is still current after caching the value; only
+ * invalidations of keys of the same stripe make the check fail.
+ */
+class InvalidationStamps {
+    static final int STRIPES = 1024;
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    /**
+     * Returns the stamp of the key, to take before reading its value from Redis.
+     *
+     * @param key the namespaced key
+     * @return the number of invalidations of the stripe of the key
+     */
+    long stamp(String key) {
+        return stamps.get(stripe(key));
+    }
+
+    /**
+     * Returns whether the key, or another key of its stripe, was not invalidated since the stamp was taken.
+     *
+     * @param key the namespaced key
+     * @param stamp the stamp taken before the read
+     * @return true if a value read after taking the stamp may be cached
+     */
+    boolean isCurrent(String key, long stamp) {
+        return stamps.get(stripe(key)) == stamp;
+    }
+
+    void invalidate(String key) {
+        stamps.incrementAndGet(stripe(key));
+    }
+
+    void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+    }
+
+    static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> (Integer.SIZE / 2))) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import com.harman.ignite.utils.logger.IgniteLogger;
+import com.harman.ignite.utils.logger.IgniteLoggerFactory;
+import org.redisson.api.RPatternTopic;
+import org.redisson.api.RTopic;
+import org.redisson.api.listener.PatternStatusListener;
+import org.redisson.api.listener.StatusListener;
+
+import java.util.function.Consumer;
+
+/**
+ * Subscription to the invalidations of written keys, feeding the near cache and the negative cache.<br>
+ * Invalidations come either from the topic on which writes through this library publish the keys they wrote,
+ * or from the keyspace notifications of Redis, which cover the writes of every client.
+ */
+class InvalidationSubscription {
+    private static final IgniteLogger LOGGER = IgniteLoggerFactory.getLogger(InvalidationSubscription.class);
+
+    private final Consumer<String> onInvalidation;
+    private final Runnable onResubscribe;
+    private RTopic topic;
+    private RPatternTopic keyspaceTopic;
+    private int listenerId;
+    private int statusListenerId;
+
+    /**
+     * Creates a subscription.
+     *
+     * @param onInvalidation called with every invalidated namespaced key
+     * @param onResubscribe called when invalidations may have been lost, to drop every cached key
+     */
+    InvalidationSubscription(Consumer<String> onInvalidation, Runnable onResubscribe) {
+        this.onInvalidation = onInvalidation;
+        this.onResubscribe = onResubscribe;
+    }
+
+    /**
+     * Subscribes to the invalidation topic, on which writes of every instance publish the keys they wrote.
+     * Invalidations published while the subscription was down are lost, so every cached key is dropped whenever
+     * the topic is subscribed again.
+     *
+     * @param topic the invalidation topic
+     */
+    void subscribe(RTopic topic) {
+        this.topic = topic;
+        this.listenerId = topic.addListener(String.class, (channel, key) -> onInvalidation.accept(key));
+        this.statusListenerId = topic.addListener(new StatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                onResubscribe.run();
+            }
+
+            @Override
+            public void onUnsubscribe(String channel) {
+                // cached keys are dropped once the topic is subscribed again
+            }
+        });
+        LOGGER.info("Subscribed to invalidation topic");
+    }
+
+    /**
+     * Subscribes to the keyspace notifications of Redis for the keys matching the pattern, so writes of any
+     * client invalidate the key. Notifications published while the subscription was down are lost, so every
+     * cached key is dropped whenever the pattern is subscribed again.
+     *
+     * @param keyspaceTopic the pattern topic of the keyspace channels of the cached keys
+     */
+    void subscribe(RPatternTopic keyspaceTopic) {
+        this.keyspaceTopic = keyspaceTopic;
+        this.listenerId = keyspaceTopic.addListener(String.class,
+                (pattern, channel, event) -> onInvalidation.accept(keyOf(channel)));
+        this.statusListenerId = keyspaceTopic.addListener(new PatternStatusListener() {
+            @Override
+            public void onPSubscribe(String pattern) {
+                onResubscribe.run();
+            }
+
+            @Override
+            public void onPUnsubscribe(String pattern) {
+                // cached keys are dropped once the pattern is subscribed again
+            }
+        });
+        LOGGER.info("Subscribed to keyspace notifications");
+    }
+
+    void unsubscribe() {
+        if (topic != null) {
+            topic.removeListener(listenerId);
+            topic.removeListener(statusListenerId);
+            topic = null;
+        }
+        if (keyspaceTopic != null) {
+            keyspaceTopic.removeListener(listenerId);
+            keyspaceTopic.removeListener(statusListenerId);
+            keyspaceTopic = null;
+        }
+    }
+
+    /**
+     * Returns the key of a keyspace notification channel such as __keyspace@0__:key.
+     */
+    static String keyOf(CharSequence channel) {
+        String name = channel.toString();
+        return name.substring(name.indexOf(':') + 1);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import com.harman.ignite.utils.logger.IgniteLogger;
+import com.harman.ignite.utils.logger.IgniteLoggerFactory;
+import org.redisson.api.RLocalCachedMap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * The RLocalCachedMap instances backing the maps of entities whose key starts with one of the configured
+ * prefixes.<br>
+ * Every instance keeps its own local cache and subscribes to the invalidations of its map, so only the most
+ * recently used maps are kept open; the others are destroyed and reopened with an empty local cache on the
+ * next access. A map is opened under a lock of its own key only, as opening subscribes to Pub/Sub, and a map
+ * evicted while in use is destroyed once the last user is done with it.
+ */
+class LocalCachedMaps {
+    private static final IgniteLogger LOGGER = IgniteLoggerFactory.getLogger(LocalCachedMaps.class);
+
+    private final List<String> prefixes;
+    private final int maxMaps;
+    private final Function<String, RLocalCachedMap<String, Object>> opener;
+    private final Map<String, OpenMap> maps = new ConcurrentHashMap<>();
+    /*
+     * orders the uses of the maps, to find the least recently used one
+     */
+    private final AtomicLong uses = new AtomicLong();
+
+    /**
+     * Creates the local cached maps.
+     *
+     * @param prefixes prefixes of the map keys, without namespace, backed by a local cached map
+     * @param maxMaps maximum number of maps kept open
+     * @param opener opens the local cached map of a namespaced key
+     */
+    LocalCachedMaps(String[] prefixes, int maxMaps, Function<String, RLocalCachedMap<String, Object>> opener) {
+        this.prefixes = Arrays.stream(prefixes).map(String::trim).filter(p -> !p.isEmpty()).toList();
+        this.maxMaps = maxMaps;
+        this.opener = opener;
+    }
+
+    /**
+     * Returns whether the map of the key is backed by a local cached map.
+     *
+     * @param key the key of the map, without namespace
+     * @return true if the key starts with one of the prefixes
+     */
+    boolean isLocalCached(String key) {
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies the action to the local cached map of the key, opening it if needed. The map is not destroyed
+     * while the action runs; it must not be used after the action returns.
+     *
+     * @param key the namespaced key of the map
+     * @param action the action on the map
+     * @return the result of the action
+     */
+    <T, R> R use(String key, Function<? super RLocalCachedMap<String, T>, R> action) {
+        OpenMap open = acquire(key);
+        try {
+            return action.apply(open.get());
+        } finally {
+            open.release();
+        }
+    }
+
+    /**
+     * Applies the asynchronous action to the local cached map of the key, opening it if needed. The map is not
+     * destroyed until the returned stage completes; it must not be used after that.
+     *
+     * @param key the namespaced key of the map
+     * @param action the asynchronous action on the map
+     * @return the future of the action
+     */
+    <T, R> CompletableFuture<R> useAsync(String key,
+            Function<? super RLocalCachedMap<String, T>, ? extends CompletionStage<R>> action) {
+        OpenMap open = acquire(key);
+        CompletionStage<R> stage;
+        try {
+            stage = action.apply(open.get());
+        } catch (RuntimeException e) {
+            open.release();
+            throw e;
+        }
+        return stage.toCompletableFuture().whenComplete((r, t) -> open.release());
+    }
+
+    int size() {
+        return maps.size();
+    }
+
+    /**
+     * Destroys all open local cached maps, those in use once their users are done with them.
+     */
+    void close() {
+        maps.values().forEach(open -> {
+            if (maps.remove(open.key, open)) {
+                open.evict();
+            }
+        });
+        LOGGER.info("Closed local cached maps");
+    }
+
+    private OpenMap acquire(String key) {
+        while (true) {
+            OpenMap open = maps.computeIfAbsent(key, OpenMap::new);
+            if (open.acquire(opener, uses.incrementAndGet())) {
+                evictLeastRecentlyUsed();
+                return open;
+            }
+            // evicted since it was looked up, the next lookup adds a new entry
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        while (maps.size() > maxMaps) {
+            OpenMap eldest = maps.values().stream().min(Comparator.comparingLong(OpenMap::getLastUse)).orElse(null);
+            if (eldest != null && maps.remove(eldest.key, eldest)) {
+                eldest.evict();
+            }
+        }
+    }
+
+    /**
+     * The local cached map of one key, opened on first use and counting its current users.
+     */
+    private static final class OpenMap {
+        private final String key;
+        private RLocalCachedMap<String, Object> map;
+        private int users;
+        private boolean evicted;
+        private volatile long lastUse;
+
+        private OpenMap(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Opens the map if needed and registers a user, unless the map was evicted.
+         */
+        synchronized boolean acquire(Function<String, RLocalCachedMap<String, Object>> opener, long use) {
+            if (evicted) {
+                return false;
+            }
+            if (map == null) {
+                map = opener.apply(key);
+            }
+            users++;
+            lastUse = use;
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized <T> RLocalCachedMap<String, T> get() {
+            return (RLocalCachedMap<String, T>) (RLocalCachedMap<String, ?>) map;
+        }
+
+        synchronized void release() {
+            users--;
+            if (evicted && users == 0) {
+                map.destroy();
+            }
+        }
+
+        synchronized void evict() {
+            evicted = true;
+            if (users == 0 && map != null) {
+                map.destroy();
+            }
+        }
+
+        long getLastUse() {
+            return lastUse;
+        }
+    }
+}
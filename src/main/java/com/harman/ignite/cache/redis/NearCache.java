@@ -0,0 +1,189 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import org.redisson.cache.Cache;
+import org.redisson.cache.LFUCacheMap;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process cache of values read from Redis buckets, in front of IgniteCacheRedisImpl.<br>
+ * Entries are evicted least frequently used first once the maximum size is reached and expire after the
+ * remaining time to live of their Redis key, capped by a maximum time to live. Written keys are dropped
+ * through an InvalidationSubscription, fed by the invalidation topic on which writes through this library
+ * publish the keys they wrote, or by the keyspace notifications of Redis. Serialized entities can be kept
+ * in an off-heap tier instead of the heap, see OffHeapStore.
+ * A value read while its key was invalidated is not cached, so a read racing with a write cannot cache the
+ * overwritten value.<br>
+ * Values cached on the heap are returned as is, so every reader of a key gets the same entity instance until
+ * it is invalidated; callers must not modify entities read through the near cache.
+ */
+class NearCache {
+    /**
+     * Remaining time to live reported by Redis for a key without expiry.
+     */
+    private static final long NO_EXPIRY = -1L;
+
+    private final Cache<String, Object> entries;
+    private final long maxTtlMs;
+    private final OffHeapStore offHeap;
+    private final InvalidationStamps invalidations = new InvalidationStamps();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    NearCache(int maxSize, long maxTtlMs) {
+        this(maxSize, maxTtlMs, null);
+    }
+
+    /**
+     * Creates a near cache.
+     *
+     * @param maxSize maximum number of values cached on the heap
+     * @param maxTtlMs maximum time a value is cached
+     * @param offHeap store of serialized values, or null to cache values on the heap only
+     */
+    NearCache(int maxSize, long maxTtlMs, OffHeapStore offHeap) {
+        this.entries = new LFUCacheMap<>(maxSize, 0L, 0L);
+        this.maxTtlMs = maxTtlMs;
+        this.offHeap = offHeap;
+    }
+
+    boolean isOffHeap() {
+        return offHeap != null;
+    }
+
+    /**
+     * Returns the cached value of the key.
+     *
+     * @param key the namespaced key
+     * @return the value, or null if the key is not cached
+     */
+    Object get(String key) {
+        Object value = entries.get(key);
+        if (value == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return value;
+    }
+
+    /**
+     * Returns a stamp to take before reading the key from Redis and to pass to
+     * {@link #put(String, Object, long, long)}.
+     *
+     * @param key the namespaced key
+     * @return the stamp of the key
+     */
+    long stamp(String key) {
+        return invalidations.stamp(key);
+    }
+
+    /**
+     * Caches a value read from Redis, unless it is null or the key was invalidated since the stamp was taken.
+     *
+     * @param key the namespaced key
+     * @param value the value read
+     * @param remainingTtlMs remaining time to live of the key reported by Redis
+     * @param stamp the stamp taken before the read
+     */
+    void put(String key, Object value, long remainingTtlMs, long stamp) {
+        long ttlMs = ttlMs(remainingTtlMs);
+        if (value != null && ttlMs > 0 && invalidations.isCurrent(key, stamp)) {
+            entries.put(key, value, ttlMs, TimeUnit.MILLISECONDS, 0L, TimeUnit.MILLISECONDS);
+            if (!invalidations.isCurrent(key, stamp)) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the serialized value of the key cached off heap.
+     *
+     * @param key the namespaced key
+     * @return a copy of the serialized value, or null if the key is not cached
+     */
+    byte[] getBytes(String key) {
+        byte[] value = offHeap.get(key);
+        if (value == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return value;
+    }
+
+    /**
+     * Caches a serialized value read from Redis off heap, under the same conditions as
+     * {@link #put(String, Object, long, long)}.
+     *
+     * @param key the namespaced key
+     * @param value the serialized value read
+     * @param remainingTtlMs remaining time to live of the key reported by Redis
+     * @param stamp the stamp taken before the read
+     */
+    void putBytes(String key, byte[] value, long remainingTtlMs, long stamp) {
+        long ttlMs = ttlMs(remainingTtlMs);
+        if (value != null && ttlMs > 0 && invalidations.isCurrent(key, stamp)) {
+            offHeap.put(key, value, ttlMs);
+            if (!invalidations.isCurrent(key, stamp)) {
+                offHeap.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns how long a value is cached given the remaining time to live of its key, or 0 if the key has
+     * expired or does not exist.
+     */
+    private long ttlMs(long remainingTtlMs) {
+        if (remainingTtlMs == NO_EXPIRY) {
+            return maxTtlMs;
+        }
+        return remainingTtlMs > 0 ? Math.min(maxTtlMs, remainingTtlMs) : 0L;
+    }
+
+    void invalidateLocally(String key) {
+        invalidations.invalidate(key);
+        entries.remove(key);
+        if (offHeap != null) {
+            offHeap.remove(key);
+        }
+    }
+
+    void invalidateAllLocally() {
+        invalidations.invalidateAll();
+        entries.clear();
+        if (offHeap != null) {
+            offHeap.clear();
+        }
+    }
+
+    long getHitCount() {
+        return hits.get();
+    }
+
+    long getMissCount() {
+        return misses.get();
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+/**
+ * How the near cache learns that a cached key was written.
+ */
+public enum NearCacheInvalidation {
+    /**
+     * Puts and deletes made through this library publish the written key on an invalidation topic. Writes
+     * made by other clients are only seen once the cached entry expires.
+     */
+    TOPIC,
+    /**
+     * Redis publishes a keyspace notification for every write of a key under the key namespace, whoever the
+     * writer is. Requires notify-keyspace-events to include K, g, $, x and e, for example "Kg$xe".
+     */
+    KEYSPACE
+}
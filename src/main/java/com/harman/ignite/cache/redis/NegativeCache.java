@@ -0,0 +1,102 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import org.redisson.cache.Cache;
+import org.redisson.cache.LFUCacheMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers for a short time the keys found absent in Redis, so repeated reads of unknown keys do not reach
+ * Redis.<br>
+ * Puts and deletes invalidate the key, through this instance or through the same InvalidationSubscription as
+ * the near cache. A miss read while its key was invalidated is not remembered, so a read racing with a put
+ * cannot hide the value written.
+ */
+class NegativeCache {
+    private final Cache<String, Boolean> absentKeys;
+    private final InvalidationStamps invalidations = new InvalidationStamps();
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Creates a negative cache.
+     *
+     * @param maxSize maximum number of absent keys remembered, least frequently read evicted first
+     * @param ttlMs time an absent key is remembered
+     */
+    NegativeCache(int maxSize, long ttlMs) {
+        this.absentKeys = new LFUCacheMap<>(maxSize, ttlMs, 0L);
+    }
+
+    /**
+     * Returns whether the key was recently found absent.
+     *
+     * @param key the namespaced key
+     * @return true if the read can be skipped
+     */
+    boolean isAbsent(String key) {
+        if (absentKeys.get(key) != null) {
+            hits.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a stamp to take before reading the key from Redis and to pass to {@link #putAbsent(String, long)}.
+     *
+     * @param key the namespaced key
+     * @return the stamp of the key
+     */
+    long stamp(String key) {
+        return invalidations.stamp(key);
+    }
+
+    /**
+     * Remembers a key found absent, unless the key was invalidated since the stamp was taken.
+     *
+     * @param key the namespaced key
+     * @param stamp the stamp taken before the read
+     */
+    void putAbsent(String key, long stamp) {
+        if (invalidations.isCurrent(key, stamp)) {
+            absentKeys.put(key, Boolean.TRUE);
+            if (!invalidations.isCurrent(key, stamp)) {
+                absentKeys.remove(key);
+            }
+        }
+    }
+
+    void invalidate(String key) {
+        invalidations.invalidate(key);
+        absentKeys.remove(key);
+    }
+
+    void invalidateAll() {
+        invalidations.invalidateAll();
+        absentKeys.clear();
+    }
+
+    long getHitCount() {
+        return hits.get();
+    }
+
+    int size() {
+        return absentKeys.size();
+    }
+}
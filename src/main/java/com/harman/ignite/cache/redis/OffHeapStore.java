@@ -0,0 +1,329 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.harman.ignite.cache.redis.RedisConstants.TWO;
+
+/**
+ * Stores serialized values outside the Java heap, in direct byte buffers allocated as fixed-size slabs.<br>
+ * Values are kept in chunks of size classes doubling from 64 bytes up to the slab size. A slab is assigned to
+ * the size class that first needs it and split into chunks of that size. Once all slabs are allocated, a value
+ * replaces the least recently used value of its size class, unless another size class holds a slab without
+ * values or a least recently used value unused for more than twice as long. A slab of that class is then
+ * emptied and reassigned, so the slabs follow the sizes of the values stored over time. Only the index of the
+ * values lives on the heap.<br>
+ * Each size class has its own lock and the index is concurrent, so values of different size classes are read
+ * and written in parallel.
+ */
+class OffHeapStore {
+    static final int MIN_CHUNK_SIZE = 64;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int slabSize;
+    private final int maxSlabs;
+    private final AtomicInteger allocatedSlabs = new AtomicInteger();
+    private final List<SizeClass> sizeClasses = new ArrayList<>();
+    private final Map<String, SizeClass> sizeClassOfKey = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the store. No memory is allocated until values are stored.
+     *
+     * @param capacityBytes maximum off-heap memory used, rounded down to whole slabs
+     * @param slabSize size of a slab, also the maximum size of a value
+     */
+    OffHeapStore(long capacityBytes, int slabSize) {
+        if (slabSize < MIN_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Slab size must be at least " + MIN_CHUNK_SIZE + " bytes");
+        }
+        this.slabSize = slabSize;
+        this.maxSlabs = (int) Math.min(Integer.MAX_VALUE, capacityBytes / slabSize);
+        for (int chunkSize = MIN_CHUNK_SIZE; chunkSize < slabSize; chunkSize <<= 1) {
+            sizeClasses.add(new SizeClass(sizeClasses.size(), chunkSize));
+        }
+        sizeClasses.add(new SizeClass(sizeClasses.size(), slabSize));
+    }
+
+    /**
+     * Returns a copy of the stored value of the key.
+     *
+     * @param key the key
+     * @return the value, or null if the key is not stored or expired
+     */
+    byte[] get(String key) {
+        SizeClass sizeClass = sizeClassOfKey.get(key);
+        if (sizeClass == null) {
+            return null;
+        }
+        synchronized (sizeClass) {
+            Chunk chunk = sizeClass.chunks.get(key);
+            if (chunk == null) {
+                // evicted since the index was read
+                return null;
+            }
+            long now = System.nanoTime();
+            if (chunk.expiresAtNanos - now <= 0) {
+                release(sizeClass, key);
+                return null;
+            }
+            chunk.accessedAtNanos = now;
+            sizeClass.updateEldest();
+            byte[] value = new byte[chunk.length];
+            chunk.slab.get(chunk.offset, value);
+            return value;
+        }
+    }
+
+    /**
+     * Stores the value of the key, replacing any previous value.
+     *
+     * @param key the key
+     * @param value the serialized value
+     * @param ttlMs time after which the value expires
+     * @return false if the value is larger than a slab or no chunk of its size class could be made free
+     */
+    boolean put(String key, byte[] value, long ttlMs) {
+        remove(key);
+        if (value.length > slabSize) {
+            return false;
+        }
+        SizeClass sizeClass = sizeClassFor(value.length);
+        SizeClass donor;
+        synchronized (sizeClass) {
+            donor = sizeClass.free.isEmpty() && !allocateSlab(sizeClass) ? colderSizeClass(sizeClass) : null;
+            if (donor == null) {
+                return store(sizeClass, key, value, ttlMs);
+            }
+        }
+        // locks are taken in size class order, so threads moving slabs between two classes cannot deadlock
+        SizeClass first = donor.index < sizeClass.index ? donor : sizeClass;
+        SizeClass second = first == donor ? sizeClass : donor;
+        synchronized (first) {
+            synchronized (second) {
+                if (sizeClass.free.isEmpty() && donor.slabCount > 0
+                        && isColder(donor, sizeClass, System.nanoTime())) {
+                    moveSlab(donor, sizeClass);
+                }
+                return store(sizeClass, key, value, ttlMs);
+            }
+        }
+    }
+
+    void remove(String key) {
+        SizeClass sizeClass = sizeClassOfKey.get(key);
+        if (sizeClass != null) {
+            synchronized (sizeClass) {
+                release(sizeClass, key);
+            }
+        }
+    }
+
+    /**
+     * Removes all values. The slabs stay allocated and assigned to their size class.
+     */
+    void clear() {
+        for (SizeClass sizeClass : sizeClasses) {
+            synchronized (sizeClass) {
+                sizeClass.chunks.keySet().forEach(key -> sizeClassOfKey.remove(key, sizeClass));
+                sizeClass.free.addAll(sizeClass.chunks.values());
+                sizeClass.chunks.clear();
+                sizeClass.updateEldest();
+            }
+        }
+    }
+
+    int size() {
+        return sizeClassOfKey.size();
+    }
+
+    long getAllocatedBytes() {
+        return (long) allocatedSlabs.get() * slabSize;
+    }
+
+    private SizeClass sizeClassFor(int length) {
+        for (SizeClass sizeClass : sizeClasses) {
+            if (length <= sizeClass.chunkSize) {
+                return sizeClass;
+            }
+        }
+        throw new IllegalArgumentException("Value of " + length + " bytes is larger than a slab");
+    }
+
+    /**
+     * Writes the value to a free chunk of the size class, evicting the least recently used value of the size
+     * class if none is free. Called with the lock of the size class held.
+     */
+    private boolean store(SizeClass sizeClass, String key, byte[] value, long ttlMs) {
+        if (sizeClass.free.isEmpty() && !sizeClass.chunks.isEmpty()) {
+            release(sizeClass, sizeClass.chunks.keySet().iterator().next());
+        }
+        Chunk chunk = sizeClass.free.poll();
+        if (chunk == null) {
+            return false;
+        }
+        chunk.slab.put(chunk.offset, value);
+        chunk.length = value.length;
+        chunk.accessedAtNanos = System.nanoTime();
+        chunk.expiresAtNanos = chunk.accessedAtNanos + ttlMs * NANOS_PER_MILLI;
+        Chunk previous = sizeClass.chunks.put(key, chunk);
+        if (previous != null) {
+            // stored by a concurrent put of the same key
+            sizeClass.free.push(previous);
+        }
+        sizeClassOfKey.put(key, sizeClass);
+        sizeClass.updateEldest();
+        return true;
+    }
+
+    /**
+     * Frees the chunk of the key in the size class. Called with the lock of the size class held.
+     */
+    private void release(SizeClass sizeClass, String key) {
+        Chunk chunk = sizeClass.chunks.remove(key);
+        if (chunk != null) {
+            sizeClass.free.push(chunk);
+            sizeClassOfKey.remove(key, sizeClass);
+            sizeClass.updateEldest();
+        }
+    }
+
+    /**
+     * Allocates a new slab to the size class if the capacity allows. Called with the lock of the size class held.
+     */
+    private boolean allocateSlab(SizeClass sizeClass) {
+        int slabs = allocatedSlabs.get();
+        while (slabs < maxSlabs) {
+            if (allocatedSlabs.compareAndSet(slabs, slabs + 1)) {
+                split(ByteBuffer.allocateDirect(slabSize), sizeClass);
+                return true;
+            }
+            slabs = allocatedSlabs.get();
+        }
+        return false;
+    }
+
+    private void split(ByteBuffer slab, SizeClass sizeClass) {
+        for (int offset = 0; offset + sizeClass.chunkSize <= slabSize; offset += sizeClass.chunkSize) {
+            sizeClass.free.push(new Chunk(slab, offset));
+        }
+        sizeClass.slabCount++;
+    }
+
+    /**
+     * Returns the size class to take a slab from for the full size class: one holding a slab without values,
+     * or else the coldest one whose least recently used value is colder than that of the full size class.
+     * The other size classes are not locked, so the choice is checked again once they are.
+     */
+    private SizeClass colderSizeClass(SizeClass full) {
+        SizeClass coldest = null;
+        for (SizeClass sizeClass : sizeClasses) {
+            if (sizeClass == full || sizeClass.slabCount == 0) {
+                continue;
+            }
+            if (!sizeClass.holdsValues) {
+                return sizeClass;
+            }
+            if (coldest == null || sizeClass.eldestAccessNanos - coldest.eldestAccessNanos < 0) {
+                coldest = sizeClass;
+            }
+        }
+        return coldest != null && isColder(coldest, full, System.nanoTime()) ? coldest : null;
+    }
+
+    /**
+     * Returns whether the least recently used value of the size class has been unused for more than twice as
+     * long as that of the other, which keeps slabs from moving back and forth between classes of similar use.
+     */
+    private static boolean isColder(SizeClass sizeClass, SizeClass other, long now) {
+        return !sizeClass.holdsValues || !other.holdsValues
+                || now - sizeClass.eldestAccessNanos > TWO.getValue() * (now - other.eldestAccessNanos);
+    }
+
+    /**
+     * Evicts the values of the slab holding the least recently used value of the donor, or of any slab of the
+     * donor if it holds no value, and reassigns the slab to the recipient. Called with both locks held.
+     */
+    private void moveSlab(SizeClass donor, SizeClass recipient) {
+        ByteBuffer slab = donor.chunks.isEmpty() ? donor.free.element().slab
+                : donor.chunks.values().iterator().next().slab;
+        Iterator<Map.Entry<String, Chunk>> entries = donor.chunks.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Chunk> entry = entries.next();
+            if (entry.getValue().slab == slab) {
+                entries.remove();
+                sizeClassOfKey.remove(entry.getKey(), donor);
+            }
+        }
+        donor.free.removeIf(chunk -> chunk.slab == slab);
+        donor.slabCount--;
+        donor.updateEldest();
+        split(slab, recipient);
+    }
+
+    /**
+     * Location of a value in the slabs. The value fields are guarded by the lock of the size class.
+     */
+    private static final class Chunk {
+        private final ByteBuffer slab;
+        private final int offset;
+        private int length;
+        private long expiresAtNanos;
+        private long accessedAtNanos;
+
+        private Chunk(ByteBuffer slab, int offset) {
+            this.slab = slab;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * Chunks of one size, with the stored values in least recently used first order, guarded by its own lock.
+     * The number of slabs and the last use of the least recently used value are also read without the lock.
+     */
+    private static final class SizeClass {
+        private final int index;
+        private final int chunkSize;
+        private final ArrayDeque<Chunk> free = new ArrayDeque<>();
+        private final LinkedHashMap<String, Chunk> chunks = new LinkedHashMap<>(MIN_CHUNK_SIZE, LOAD_FACTOR, true);
+        private volatile int slabCount;
+        private volatile boolean holdsValues;
+        private volatile long eldestAccessNanos;
+
+        private SizeClass(int index, int chunkSize) {
+            this.index = index;
+            this.chunkSize = chunkSize;
+        }
+
+        private void updateEldest() {
+            Iterator<Chunk> values = chunks.values().iterator();
+            holdsValues = values.hasNext();
+            if (holdsValues) {
+                eldestAccessNanos = values.next().accessedAtNanos;
+            }
+        }
+    }
+}
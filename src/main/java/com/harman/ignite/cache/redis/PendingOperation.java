@@ -0,0 +1,140 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import org.redisson.api.RBatch;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * An async operation waiting in the {@link AsyncBatchPipeline} to be added to the next batch.<br>
+ * The operation is only applied to an {@link RBatch} by the thread draining the pipeline,
+ * so producers never touch a batch that may already have been executed.<br>
+ * An overwrite is an unconditional write replacing the whole value of its key, such as SET or DEL.
+ * A read is an operation whose caller waits for the value read, so it is flushed after the read linger time.
+ * When write coalescing is enabled, an overwrite followed by another overwrite of the same key in the
+ * same batch is superseded and not sent to Redis.
+ */
+class PendingOperation {
+    private final String key;
+    private final CompletableFuture<?> future;
+    private final Consumer<RBatch> operation;
+    private final long enqueuedAt;
+    private final boolean overwrite;
+    private final boolean read;
+    private final String mutationId;
+
+    PendingOperation(String key, CompletableFuture<?> future, Consumer<RBatch> operation) {
+        this(key, future, operation, false, false, null);
+    }
+
+    private PendingOperation(String key, CompletableFuture<?> future, Consumer<RBatch> operation,
+                             boolean overwrite, boolean read, String mutationId) {
+        this.key = key;
+        this.future = future;
+        this.operation = operation;
+        this.overwrite = overwrite;
+        this.read = read;
+        this.mutationId = mutationId;
+        this.enqueuedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates an overwrite operation, whose future is completed with the given mutationId.
+     *
+     * @param key the key the operation applies to
+     * @param future the future completed by the operation
+     * @param mutationId the mutationId the future completes with if the operation is superseded
+     * @param operation the batch operation
+     * @return the pending operation
+     */
+    static PendingOperation overwrite(String key, CompletableFuture<String> future, String mutationId,
+                                      Consumer<RBatch> operation) {
+        return new PendingOperation(key, future, operation, true, false, mutationId);
+    }
+
+    /**
+     * Creates a read operation, whose future is completed with the value read.
+     *
+     * @param key the key the operation applies to
+     * @param future the future completed by the operation
+     * @param operation the batch operation
+     * @return the pending operation
+     */
+    static PendingOperation read(String key, CompletableFuture<?> future, Consumer<RBatch> operation) {
+        return new PendingOperation(key, future, operation, false, true, null);
+    }
+
+    /**
+     * Adds this operation to the given batch. The operation is expected to complete its
+     * future from the callback of the batched command.
+     *
+     * @param batch the batch being built by the pipeline
+     */
+    void addTo(RBatch batch) {
+        operation.accept(batch);
+    }
+
+    /**
+     * Marks this operation as superseded by a later overwrite of the same key. Its future is completed
+     * with its own mutationId once the surviving operation is acknowledged, or with the failure of the
+     * surviving operation.
+     *
+     * @param survivor the operation replacing this one in the batch
+     */
+    void supersededBy(PendingOperation survivor) {
+        survivor.getFuture().whenComplete((r, t) -> {
+            if (t == null) {
+                acknowledge();
+            } else {
+                future.completeExceptionally(t);
+            }
+        });
+    }
+
+    /**
+     * Completes the future of this overwrite operation with its mutationId, for when the operation is
+     * acknowledged at the batch level rather than by the reply to its own command.
+     */
+    @SuppressWarnings("unchecked")
+    void acknowledge() {
+        // overwrite operations are only created with a String future
+        ((CompletableFuture<String>) future).complete(mutationId);
+    }
+
+    boolean isOverwrite() {
+        return overwrite;
+    }
+
+    boolean isRead() {
+        return read;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    CompletableFuture<?> getFuture() {
+        return future;
+    }
+
+    long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+/**
+ * Outcome of draining the async pipeline on shutdown, counted over the operations that were
+ * pending or in flight when the shutdown started.
+ */
+final class PipelineDrainReport {
+    private final int flushed;
+    private final int failed;
+    private final int abandoned;
+
+    PipelineDrainReport(int flushed, int failed, int abandoned) {
+        this.flushed = flushed;
+        this.failed = failed;
+        this.abandoned = abandoned;
+    }
+
+    /**
+     * Returns the number of operations acknowledged by Redis.
+     *
+     * @return the number of flushed operations
+     */
+    int getFlushed() {
+        return flushed;
+    }
+
+    /**
+     * Returns the number of operations that failed or timed out.
+     *
+     * @return the number of failed operations
+     */
+    int getFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns the number of operations not acknowledged before the drain deadline.
+     *
+     * @return the number of abandoned operations
+     */
+    int getAbandoned() {
+        return abandoned;
+    }
+
+    PipelineDrainReport add(PipelineDrainReport other) {
+        return new PipelineDrainReport(flushed + other.flushed, failed + other.failed, abandoned + other.abandoned);
+    }
+
+    @Override
+    public String toString() {
+        return "PipelineDrainReport [flushed=" + flushed + ", failed=" + failed + ", abandoned=" + abandoned + "]";
+    }
+}
@@ -63,4 +63,41 @@ public abstract class RedisProperty {
     public static final String REDIS_NEEDS_RESTART_ON_FAILURE = "health.redis.needs.restart.on.failure";
     public static final String REDIS_KEY_NAMESPACE_DELIMETER = ":";
     public static final String REDIS_CHECK_SLOTS_COVERAGE = "redis.check.slots.coverage";
+    public static final String REDIS_PIPELINE_LINGER_MS = "redis.pipeline.linger.ms";
+    public static final String REDIS_PIPELINE_READ_LINGER_MS = "redis.pipeline.read.linger.ms";
+    public static final String REDIS_ASYNC_OP_TIMEOUT_MS = "redis.async.op.timeout.ms";
+    public static final String REDIS_PIPELINE_MAX_PENDING_OPS = "redis.pipeline.max.pending.operations";
+    public static final String REDIS_PIPELINE_MAX_INFLIGHT_BATCHES = "redis.pipeline.max.inflight.batches";
+    public static final String REDIS_PIPELINE_BACKPRESSURE_POLICY = "redis.pipeline.backpressure.policy";
+    public static final String REDIS_PIPELINE_DRAIN_TIMEOUT_MS = "redis.pipeline.drain.timeout.ms";
+    public static final String REDIS_PIPELINE_COALESCING_ENABLED = "redis.pipeline.coalescing.enabled";
+    public static final String REDIS_READ_SINGLE_FLIGHT_ENABLED = "redis.read.single.flight.enabled";
+    public static final String REDIS_PIPELINE_ADAPTIVE_TARGET_LATENCY_MS = "redis.pipeline.adaptive.target.latency.ms";
+    public static final String REDIS_PIPELINE_ADAPTIVE_MIN_SIZE = "redis.pipeline.adaptive.min.size";
+    public static final String REDIS_PIPELINE_SKIP_RESULT_ENABLED = "redis.pipeline.skip.result.enabled";
+    public static final String REDIS_PIPELINE_RESPONSE_TIMEOUT_MS = "redis.pipeline.response.timeout.ms";
+    public static final String REDIS_PIPELINE_RETRY_ATTEMPTS = "redis.pipeline.retry.attempts";
+    public static final String REDIS_PIPELINE_STRIPES = "redis.pipeline.stripes";
+    public static final String REDIS_PIPELINE_PER_KEY_ORDERING_ENABLED = "redis.pipeline.per.key.ordering.enabled";
+    public static final String REDIS_DELETE_UNLINK_ENABLED = "redis.delete.unlink.enabled";
+    public static final String REDIS_REGEX_SCAN_ENGINE = "redis.regex.scan.engine";
+    public static final String REDIS_SCAN_KEYS_FILENAME = "redis.scan.keys.filename";
+    public static final String REDIS_SCRIPT_EVALSHA_ENABLED = "redis.script.evalsha.enabled";
+    public static final String REDIS_NEAR_CACHE_ENABLED = "redis.near.cache.enabled";
+    public static final String REDIS_NEAR_CACHE_MAX_SIZE = "redis.near.cache.max.size";
+    public static final String REDIS_NEAR_CACHE_MAX_TTL_MS = "redis.near.cache.max.ttl.ms";
+    public static final String REDIS_NEAR_CACHE_INVALIDATION_TOPIC = "redis.near.cache.invalidation.topic";
+    public static final String REDIS_NEAR_CACHE_INVALIDATION = "redis.near.cache.invalidation";
+    public static final String REDIS_NEAR_CACHE_OFF_HEAP_CAPACITY_BYTES = "redis.near.cache.off.heap.capacity.bytes";
+    public static final String REDIS_NEAR_CACHE_OFF_HEAP_SLAB_SIZE_BYTES = "redis.near.cache.off.heap.slab.size.bytes";
+    public static final String REDIS_NEGATIVE_CACHE_TTL_MS = "redis.negative.cache.ttl.ms";
+    public static final String REDIS_NEGATIVE_CACHE_MAX_SIZE = "redis.negative.cache.max.size";
+    public static final String REDIS_LOCAL_CACHED_MAP_PREFIXES = "redis.local.cached.map.prefixes";
+    public static final String REDIS_LOCAL_CACHED_MAP_MAX_MAPS = "redis.local.cached.map.max.maps";
+    public static final String REDIS_LOCAL_CACHED_MAP_CACHE_SIZE = "redis.local.cached.map.cache.size";
+    public static final String REDIS_LOCAL_CACHED_MAP_TTL_MS = "redis.local.cached.map.ttl.ms";
+    public static final String REDIS_LOCAL_CACHED_MAP_EVICTION_POLICY = "redis.local.cached.map.eviction.policy";
+    public static final String REDIS_LOCAL_CACHED_MAP_SYNC_STRATEGY = "redis.local.cached.map.sync.strategy";
+    public static final String REDIS_LOCAL_CACHED_MAP_RECONNECTION_STRATEGY =
+            "redis.local.cached.map.reconnection.strategy";
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import com.harman.ignite.cache.exception.IgniteCacheException;
+import com.harman.ignite.utils.logger.IgniteLogger;
+import com.harman.ignite.utils.logger.IgniteLoggerFactory;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScript;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.Codec;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of named Lua scripts that are loaded into the Redis script cache once and then invoked with
+ * EVALSHA, so that only the SHA-1 digest of a script is sent on each call.<br>
+ * When Redis no longer knows a script, for example after a restart or a failover, the NOSCRIPT error is
+ * caught, the script is loaded again and the call is retried once.
+ */
+public class RedisScriptRegistry {
+    private static final IgniteLogger LOGGER = IgniteLoggerFactory.getLogger(RedisScriptRegistry.class);
+    private static final String NO_SCRIPT_ERROR = "NOSCRIPT";
+
+    private final Function<Codec, RScript> scriptFactory;
+    private final Codec defaultCodec;
+    private final Map<String, String> scripts = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> digests = new ConcurrentHashMap<>();
+
+    RedisScriptRegistry(Function<Codec, RScript> scriptFactory, Codec defaultCodec) {
+        this.scriptFactory = scriptFactory;
+        this.defaultCodec = defaultCodec;
+    }
+
+    /**
+     * Registers a script under a name, replacing any script previously registered under that name.
+     *
+     * @param name the name to invoke the script with
+     * @param script the Lua script
+     */
+    public void register(String name, String script) {
+        scripts.put(name, script);
+        digests.remove(name);
+        LOGGER.info("Registered redis script {}", name);
+    }
+
+    /**
+     * Returns the script registered under the name.
+     *
+     * @param name the script name
+     * @return the script, or null if no script is registered under the name
+     */
+    public String getScript(String name) {
+        return scripts.get(name);
+    }
+
+    /**
+     * Invokes the named script with EVALSHA and waits for its result.
+     *
+     * @param name the script name
+     * @param mode whether the script only reads data
+     * @param returnType the type of the script result
+     * @param keys the keys passed to the script as KEYS
+     * @param values the arguments passed to the script as ARGV
+     * @param <R> type of the script result
+     * @return the script result
+     */
+    public <R> R eval(String name, RScript.Mode mode, RScript.ReturnType returnType, List<Object> keys,
+            Object... values) {
+        try {
+            return this.<R>evalAsync(name, null, mode, returnType, keys, values).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Invokes the named script with EVALSHA, loading it into the script cache first if needed.
+     *
+     * @param name the script name
+     * @param routingKey key whose master runs the script in cluster mode, or null to let Redisson choose
+     * @param mode whether the script only reads data
+     * @param returnType the type of the script result
+     * @param keys the keys passed to the script as KEYS
+     * @param values the arguments passed to the script as ARGV
+     * @param <R> type of the script result
+     * @return future of the script result
+     */
+    public <R> CompletableFuture<R> evalAsync(String name, String routingKey, RScript.Mode mode,
+            RScript.ReturnType returnType, List<Object> keys, Object... values) {
+        return evalAsync(name, defaultCodec, routingKey, mode, returnType, keys, values);
+    }
+
+    /**
+     * Invokes the named script with EVALSHA, loading it into the script cache first if needed, and decodes
+     * its result with the codec.
+     *
+     * @param name the script name
+     * @param codec the codec of the script arguments and result
+     * @param routingKey key whose master runs the script in cluster mode, or null to let Redisson choose
+     * @param mode whether the script only reads data
+     * @param returnType the type of the script result
+     * @param keys the keys passed to the script as KEYS
+     * @param values the arguments passed to the script as ARGV
+     * @param <R> type of the script result
+     * @return future of the script result
+     */
+    public <R> CompletableFuture<R> evalAsync(String name, Codec codec, String routingKey, RScript.Mode mode,
+            RScript.ReturnType returnType, List<Object> keys, Object... values) {
+        Function<String, CompletableFuture<R>> evalSha = digest -> {
+            RScript script = scriptFactory.apply(codec);
+            RFuture<R> result = routingKey == null
+                    ? script.evalShaAsync(mode, digest, returnType, keys, values)
+                    : script.evalShaAsync(routingKey, mode, digest, returnType, keys, values);
+            return result.toCompletableFuture();
+        };
+        CompletableFuture<String> loaded = digest(name);
+        return loaded.thenCompose(evalSha)
+                .handle((result, t) -> {
+                    if (t == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    if (!isNoScript(t)) {
+                        return CompletableFuture.<R>failedFuture(t);
+                    }
+                    LOGGER.warn("Redis script {} is not in the script cache, loading it again", name);
+                    digests.remove(name, loaded);
+                    return digest(name).thenCompose(evalSha);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<String> digest(String name) {
+        String script = scripts.get(name);
+        if (script == null) {
+            return CompletableFuture.failedFuture(
+                    new IgniteCacheException(String.format("No redis script registered as %s", name)));
+        }
+        CompletableFuture<String> digest = digests.computeIfAbsent(name,
+                n -> scriptFactory.apply(defaultCodec).scriptLoadAsync(script).toCompletableFuture());
+        digest.whenComplete((sha, t) -> {
+            if (t != null) {
+                digests.remove(name, digest);
+            }
+        });
+        return digest;
+    }
+
+    private static boolean isNoScript(Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RedisException && String.valueOf(cause.getMessage()).contains(NO_SCRIPT_ERROR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
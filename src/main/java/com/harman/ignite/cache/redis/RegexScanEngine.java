@@ -0,0 +1,34 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+/**
+ * How a regex scan reads the keys matching the pattern and their values.
+ */
+public enum RegexScanEngine {
+    /**
+     * A script runs SCAN and reads the value of every matched key on the server, blocking Redis for the
+     * whole page. Only string keys may match the pattern.
+     */
+    LUA,
+    /**
+     * A script runs only SCAN, restricted to string keys, and the values of each page are read with MGET
+     * by the client. Redis stays responsive during large scans, and with a replica read mode both the scan
+     * and the reads can be served by replicas. Requires Redis 6 or later.
+     */
+    SCAN
+}
@@ -0,0 +1,97 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits how long a key scan may run and how many keys each SCAN page asks for.<br>
+ * A timed budget tunes the page size so that a page takes about a quarter of the budget: it halves the page
+ * size after a slower page and grows it by half after a page faster than half that target, within bounds.
+ * Each budget tunes its own page size, starting from the largest one, so concurrent scans do not change
+ * the page size of one another.
+ */
+final class ScanBudget {
+    private static final int PAGES_PER_BUDGET = 4;
+
+    private final AtomicInteger pageSize;
+    private final int minPageSize;
+    private final int maxPageSize;
+    private final long deadlineNanos;
+    private final long targetPageNanos;
+    private final boolean timed;
+
+    private ScanBudget(AtomicInteger pageSize, int minPageSize, int maxPageSize, long budgetMs, boolean timed) {
+        this.pageSize = pageSize;
+        this.minPageSize = minPageSize;
+        this.maxPageSize = maxPageSize;
+        this.timed = timed;
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        this.deadlineNanos = System.nanoTime() + budgetNanos;
+        this.targetPageNanos = budgetNanos / PAGES_PER_BUDGET;
+    }
+
+    /**
+     * Creates a budget without a time limit and with a fixed page size.
+     *
+     * @param pageSize the number of keys each page asks for
+     * @return the budget
+     */
+    static ScanBudget unlimited(int pageSize) {
+        return new ScanBudget(new AtomicInteger(pageSize), pageSize, pageSize, 0L, false);
+    }
+
+    /**
+     * Creates a budget that expires after the given time and tunes its page size.
+     *
+     * @param budgetMs how long the scan may run
+     * @param minPageSize the smallest page size
+     * @param maxPageSize the largest page size
+     * @return the budget
+     */
+    static ScanBudget timed(long budgetMs, int minPageSize, int maxPageSize) {
+        return new ScanBudget(new AtomicInteger(maxPageSize), minPageSize, maxPageSize, budgetMs, true);
+    }
+
+    int getPageSize() {
+        return Math.min(maxPageSize, Math.max(minPageSize, pageSize.get()));
+    }
+
+    boolean isExhausted() {
+        return timed && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Records how long a page took and tunes the page size of a timed budget.
+     *
+     * @param latencyNanos time between requesting and receiving the page
+     */
+    void pageCompleted(long latencyNanos) {
+        if (!timed) {
+            return;
+        }
+        if (latencyNanos > targetPageNanos) {
+            pageSize.updateAndGet(size -> Math.max(minPageSize, Math.min(maxPageSize, size) / 2));
+        } else if (latencyNanos < targetPageNanos / 2) {
+            pageSize.updateAndGet(size -> {
+                int current = Math.max(minPageSize, size);
+                return Math.min(maxPageSize, current + current / 2);
+            });
+        }
+    }
+}
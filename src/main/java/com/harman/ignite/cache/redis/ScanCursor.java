@@ -0,0 +1,154 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import com.harman.ignite.cache.IgniteCache;
+import com.harman.ignite.cache.exception.IgniteCacheException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Position of a resumable key scan on one node: the SCAN cursor of the current page, the number of keys of
+ * that page already scanned, and the COUNT the page was requested with, so that resuming within a page asks
+ * SCAN for the same keys again.<br>
+ * It is rendered as {@code <cursor>} at a page boundary and as {@code <cursor>:<delivered>:<count>} within a
+ * page, so a scan stopped inside its first page is distinguishable from a completed scan. A cluster scan keeps one
+ * position per master, identified by a key routed to that master, and is rendered as
+ * {@code <node>@<position>,<node>@<position>} listing only the masters that are not scanned completely yet.
+ */
+final class ScanCursor {
+    /**
+     * Node name of the only node scanned outside cluster mode.
+     */
+    static final String SINGLE_NODE = "";
+    private static final char SEPARATOR = ':';
+    private static final char NODE_SEPARATOR = '@';
+    private static final String POSITION_SEPARATOR = ",";
+
+    private final long cursor;
+    private final int delivered;
+    private final int count;
+
+    ScanCursor(long cursor) {
+        this(cursor, 0, 0);
+    }
+
+    /**
+     * Creates the position of a scan stopped within a page.
+     *
+     * @param cursor the SCAN cursor of the page
+     * @param delivered the number of keys of the page already scanned, including keys deleted before their value
+     *         was read
+     * @param count the COUNT the page was requested with
+     */
+    ScanCursor(long cursor, int delivered, int count) {
+        this.cursor = cursor;
+        this.delivered = delivered;
+        this.count = count;
+    }
+
+    /**
+     * Parses a cursor returned by {@link #toString()}.
+     *
+     * @param value the cursor
+     * @return the parsed cursor
+     */
+    static ScanCursor parse(String value) {
+        try {
+            String[] parts = value.split(String.valueOf(SEPARATOR), -1);
+            if (parts.length == 1) {
+                return new ScanCursor(Long.parseLong(value));
+            }
+            if (parts.length != RedisConstants.THREE.getValue()) {
+                throw new IgniteCacheException(String.format("Invalid scan cursor : %s", value));
+            }
+            return new ScanCursor(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IgniteCacheException(String.format("Invalid scan cursor : %s", value), e);
+        }
+    }
+
+    /**
+     * Parses a scan cursor into the position of each node still to be scanned. A cursor without node positions,
+     * such as the start cursor, applies to every node.
+     *
+     * @param value the cursor
+     * @param nodes the nodes to scan when the cursor has no node positions
+     * @return the position of each node, in scan order
+     */
+    static Map<String, ScanCursor> parse(String value, List<String> nodes) {
+        Map<String, ScanCursor> positions = new LinkedHashMap<>();
+        if (value.indexOf(NODE_SEPARATOR) < 0) {
+            ScanCursor position = parse(value);
+            nodes.forEach(node -> positions.put(node, position));
+            return positions;
+        }
+        for (String nodePosition : value.split(POSITION_SEPARATOR)) {
+            int separator = nodePosition.lastIndexOf(NODE_SEPARATOR);
+            if (separator < 0) {
+                throw new IgniteCacheException(String.format("Invalid scan cursor : %s", value));
+            }
+            positions.put(nodePosition.substring(0, separator), parse(nodePosition.substring(separator + 1)));
+        }
+        return positions;
+    }
+
+    /**
+     * Renders the positions of the nodes still to be scanned as a cursor accepted by
+     * {@link #parse(String, List)}.
+     *
+     * @param positions the position of each node that is not scanned completely
+     * @return the cursor, or {@link IgniteCache#SCAN_START_CURSOR} when no node is left
+     */
+    static String format(Map<String, ScanCursor> positions) {
+        if (positions.isEmpty()) {
+            return IgniteCache.SCAN_START_CURSOR;
+        }
+        if (positions.size() == 1 && positions.containsKey(SINGLE_NODE)) {
+            return positions.get(SINGLE_NODE).toString();
+        }
+        return positions.entrySet().stream()
+                .map(position -> position.getKey() + NODE_SEPARATOR + position.getValue())
+                .collect(Collectors.joining(POSITION_SEPARATOR));
+    }
+
+    long getCursor() {
+        return cursor;
+    }
+
+    int getDelivered() {
+        return delivered;
+    }
+
+    /**
+     * Returns the COUNT to request the page of this position with, or 0 at a page boundary, where any COUNT
+     * may be used.
+     */
+    int getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return delivered == 0 ? String.valueOf(cursor)
+                : String.valueOf(cursor) + SEPARATOR + delivered + SEPARATOR + count;
+    }
+}
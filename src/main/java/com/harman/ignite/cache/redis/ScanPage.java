@@ -0,0 +1,112 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a key scan on one node: the cursor of the next page and the keys found with their raw values.<br>
+ * Keys and values may be read either as strings or as raw bytes; keys are converted to strings as UTF-8.
+ */
+final class ScanPage {
+    private final long cursor;
+    private final List<String> keys;
+    private final List<Object> values;
+
+    private ScanPage(long cursor, List<String> keys, List<Object> values) {
+        this.cursor = cursor;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Creates a page from a script reply holding the next cursor followed by each key and its value.
+     *
+     * @param reply the script reply, empty if the script found nothing
+     * @return the page
+     */
+    static ScanPage ofKeyValues(List<Object> reply) {
+        if (reply.isEmpty()) {
+            return new ScanPage(0L, Collections.emptyList(), Collections.emptyList());
+        }
+        int size = (reply.size() - 1) / RedisConstants.TWO.getValue();
+        List<String> keys = new ArrayList<>(size);
+        List<Object> values = new ArrayList<>(size);
+        for (int index = 1; index + 1 < reply.size(); index += RedisConstants.TWO.getValue()) {
+            keys.add(string(reply.get(index)));
+            values.add(reply.get(index + 1));
+        }
+        return new ScanPage(cursor(reply.get(0)), keys, values);
+    }
+
+    /**
+     * Creates a page from the keys found by SCAN and their values read afterwards. Keys removed in between
+     * are kept with a null value, so that positions within the page match the keys SCAN returned.
+     *
+     * @param cursor the cursor of the next page
+     * @param scannedKeys the keys found, in scan order
+     * @param values the value of each key still present
+     * @return the page
+     */
+    static ScanPage ofKeys(long cursor, List<String> scannedKeys, Map<String, ?> values) {
+        List<Object> pageValues = new ArrayList<>(scannedKeys.size());
+        for (String key : scannedKeys) {
+            pageValues.add(values.get(key));
+        }
+        return new ScanPage(cursor, scannedKeys, pageValues);
+    }
+
+    /**
+     * Converts a cursor returned by a script, either as an integer or as a bulk string.
+     *
+     * @param cursor the cursor
+     * @return the cursor as a long
+     */
+    static long cursor(Object cursor) {
+        return cursor instanceof Number number ? number.longValue() : Long.parseLong(string(cursor));
+    }
+
+    /**
+     * Converts a bulk string of a reply read either as raw bytes or as a string.
+     *
+     * @param value the bulk string
+     * @return the string
+     */
+    static String string(Object value) {
+        return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
+    long getCursor() {
+        return cursor;
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    String getKey(int index) {
+        return keys.get(index);
+    }
+
+    Object getValue(int index) {
+        return values.get(index);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent reads of the same key share a single in-flight request.<br>
+ * The first caller for a key performs the read; callers arriving while it is in flight wait for
+ * and receive the same result, or the same exception. A key is released as soon as its read
+ * completes, so nothing is cached beyond the duration of the request.
+ */
+class SingleFlight {
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong sharedReads = new AtomicLong(0L);
+
+    long getSharedReadCount() {
+        return sharedReads.get();
+    }
+
+    /**
+     * Performs the read unless a read of the same key is already in flight, in which case its result is
+     * returned instead.
+     *
+     * @param key the key being read
+     * @param loader performs the read
+     * @param <T> type of the value read
+     * @return the value read by this or the concurrent caller
+     */
+    @SuppressWarnings("unchecked")
+    <T> T execute(String key, Supplier<T> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            sharedReads.incrementAndGet();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw e;
+            }
+        }
+        try {
+            T value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Starts the async read unless a read of the same key is already in flight, in which case the caller
+     * shares its result. Every caller gets its own future, so completing or cancelling it does not
+     * affect the other callers.
+     *
+     * @param key the key being read
+     * @param loader starts the read
+     * @param <T> type of the value read
+     * @return future of the value read by this or the concurrent caller
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> executeAsync(String key, Supplier<CompletableFuture<T>> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            sharedReads.incrementAndGet();
+            return (CompletableFuture<T>) existing.copy();
+        }
+        try {
+            loader.get().whenComplete((v, t) -> {
+                inFlight.remove(key, mine);
+                if (t == null) {
+                    mine.complete(v);
+                } else {
+                    mine.completeExceptionally(t);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        return (CompletableFuture<T>) mine.copy();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import io.netty.util.Timer;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Partitions async operations by key into independent {@link AsyncBatchPipeline} stripes, each filling,
+ * flushing and completing its own batches.<br>
+ * With stripes by cluster hash slot, each stripe covers a contiguous range of slots, so with slots spread
+ * evenly over the masters a stripe maps onto a single master and a slow master only delays the futures
+ * of its own stripe. All stripes share one flush scheduler thread and one operation timer.
+ */
+class StripedAsyncPipeline {
+    private final AsyncBatchPipeline[] stripes;
+    private final ToIntFunction<String> router;
+    private ScheduledExecutorService flushScheduler;
+    private Timer operationTimer;
+
+    private StripedAsyncPipeline(Function<BatchOptions, RBatch> batchFactory, int stripeCount,
+                                 ToIntFunction<String> router) {
+        this.stripes = new AsyncBatchPipeline[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AsyncBatchPipeline(batchFactory);
+        }
+        this.router = router;
+    }
+
+    /**
+     * Creates a pipeline with a single stripe holding all operations.
+     *
+     * @param batchFactory creates the batches of the pipeline
+     * @return the pipeline
+     */
+    static StripedAsyncPipeline single(Function<BatchOptions, RBatch> batchFactory) {
+        return new StripedAsyncPipeline(batchFactory, 1, key -> 0);
+    }
+
+    /**
+     * Creates a pipeline striped by cluster hash slot, each stripe covering an equal range of slots.
+     *
+     * @param batchFactory creates the batches of the pipeline
+     * @param stripeCount number of stripes
+     * @return the pipeline
+     */
+    static StripedAsyncPipeline bySlot(Function<BatchOptions, RBatch> batchFactory, int stripeCount) {
+        return new StripedAsyncPipeline(batchFactory, stripeCount,
+                key -> ClusterSlots.slot(key) * stripeCount / ClusterSlots.SLOT_COUNT);
+    }
+
+    int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Applies a setting to every stripe. Settings take effect when the pipeline is started.
+     *
+     * @param setting the setting to apply
+     */
+    void configure(Consumer<AsyncBatchPipeline> setting) {
+        for (AsyncBatchPipeline stripe : stripes) {
+            setting.accept(stripe);
+        }
+    }
+
+    long sum(ToLongFunction<AsyncBatchPipeline> metric) {
+        return Arrays.stream(stripes).mapToLong(metric).sum();
+    }
+
+    int min(ToIntFunction<AsyncBatchPipeline> metric) {
+        return Arrays.stream(stripes).mapToInt(metric).min().orElse(0);
+    }
+
+    void submit(PendingOperation operation) {
+        stripes[router.applyAsInt(operation.getKey())].submit(operation);
+    }
+
+    void flush(BatchFlushReason reason) {
+        for (AsyncBatchPipeline stripe : stripes) {
+            stripe.flush(reason);
+        }
+    }
+
+    void flushLingering() {
+        for (AsyncBatchPipeline stripe : stripes) {
+            stripe.flushLingering();
+        }
+    }
+
+    /**
+     * Starts every stripe. A single stripe owns its scheduler and timer, multiple stripes share them.
+     */
+    void start() {
+        if (stripes.length == 1) {
+            stripes[0].start();
+            return;
+        }
+        AsyncBatchPipeline first = stripes[0];
+        flushScheduler = first.isLingerEnabled() ? AsyncBatchPipeline.newFlushScheduler() : null;
+        operationTimer = first.getOperationTimeoutMs() > 0
+                ? AsyncBatchPipeline.newOperationTimer(first.getOperationTimeoutMs()) : null;
+        configure(stripe -> stripe.start(flushScheduler, operationTimer));
+    }
+
+    /**
+     * Shuts down all stripes together: closes and flushes every stripe, waits for the batches of all of them
+     * until one deadline of drainTimeoutMs, and only then abandons what is left, so a stalled stripe does not
+     * use up the drain time of the others.
+     *
+     * @param drainTimeoutMs maximum time in milliseconds to wait for pending and in-flight operations
+     * @return the number of operations flushed, failed and abandoned over all stripes
+     */
+    PipelineDrainReport shutdown(long drainTimeoutMs) {
+        long deadline = System.currentTimeMillis() + Math.max(0L, drainTimeoutMs);
+        configure(AsyncBatchPipeline::close);
+        AsyncBatchPipeline.drain(Arrays.asList(stripes), deadline);
+        PipelineDrainReport report = new PipelineDrainReport(0, 0, 0);
+        for (AsyncBatchPipeline stripe : stripes) {
+            report = report.add(stripe.abandonUnacknowledged());
+        }
+        if (flushScheduler != null) {
+            flushScheduler.shutdownNow();
+        }
+        if (operationTimer != null) {
+            operationTimer.stop();
+        }
+        return report;
+    }
+}
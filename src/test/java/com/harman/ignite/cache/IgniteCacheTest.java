@@ -0,0 +1,89 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache;
+
+import com.harman.ignite.entities.IgniteEntity;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Unit test class for the default methods of IgniteCache.
+ */
+public class IgniteCacheTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Test
+    public void testGetStringsFallsBackToSingleReads() {
+        IgniteCache cache = Mockito.mock(IgniteCache.class, Mockito.CALLS_REAL_METHODS);
+        Mockito.doReturn("v1").when(cache).getString(Mockito.argThat((GetStringRequest r) -> "k1".equals(r.getKey())));
+        GetStringRequest first = new GetStringRequest().withKey("k1");
+        GetStringRequest second = new GetStringRequest().withKey("k2");
+        Assert.assertEquals(Map.of("k1", "v1"), cache.getStrings(List.of(first, second)));
+    }
+
+    @Test
+    public void testGetStringAsyncCompletesWithFailureOfSingleRead() {
+        IgniteCache cache = Mockito.mock(IgniteCache.class, Mockito.CALLS_REAL_METHODS);
+        Mockito.doThrow(new IllegalStateException("down")).when(cache).getString(Mockito.any(GetStringRequest.class));
+        CompletableFuture<String> value = cache.getStringAsync(new GetStringRequest().withKey("k1"));
+        Assert.assertTrue(value.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testRegexScanResumesFromCursor() {
+        IgniteCache cache = Mockito.mock(IgniteCache.class, Mockito.CALLS_REAL_METHODS);
+        IgniteEntity entity = Mockito.mock(IgniteEntity.class);
+        Mockito.doReturn(Map.of("k3", entity, "k1", entity, "k2", entity))
+                .when(cache).getKeyValuePairsForRegex("k*", Optional.empty());
+
+        List<String> keys = new ArrayList<>();
+        String cursor = cache.scanKeyValuePairsForRegex("k*", Optional.empty(), IgniteCache.SCAN_START_CURSOR,
+                (String key, IgniteEntity value) -> keys.add(key) && keys.size() < 2);
+        Assert.assertEquals(List.of("k1", "k2"), keys);
+        Assert.assertNotEquals(IgniteCache.SCAN_START_CURSOR, cursor);
+
+        cursor = cache.scanKeyValuePairsForRegex("k*", Optional.empty(), cursor,
+                (String key, IgniteEntity value) -> keys.add(key));
+        Assert.assertEquals(List.of("k1", "k2", "k3"), keys);
+        Assert.assertEquals(IgniteCache.SCAN_START_CURSOR, cursor);
+    }
+
+    @Test
+    public void testRegexScanPagesResumeFromCursor() {
+        IgniteCache cache = Mockito.mock(IgniteCache.class, Mockito.CALLS_REAL_METHODS);
+        IgniteEntity entity = Mockito.mock(IgniteEntity.class);
+        Mockito.doReturn(Map.of("k3", entity, "k1", entity, "k2", entity))
+                .when(cache).getKeyValuePairsForRegex("k*", Optional.empty());
+
+        RegexScanPage<IgniteEntity> page = cache.getKeyValuePairsForRegex("k*", Optional.empty(),
+                IgniteCache.SCAN_START_CURSOR, PAGE_SIZE, 0L);
+        Assert.assertEquals(List.of("k1", "k2"), List.copyOf(page.getEntries().keySet()));
+        Assert.assertFalse(page.isComplete());
+
+        page = cache.getKeyValuePairsForRegex("k*", Optional.empty(), page.getCursor(), PAGE_SIZE, 0L);
+        Assert.assertEquals(List.of("k3"), List.copyOf(page.getEntries().keySet()));
+        Assert.assertTrue(page.isComplete());
+    }
+}
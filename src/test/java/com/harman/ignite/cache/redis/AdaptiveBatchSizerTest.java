@@ -0,0 +1,76 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test class for AdaptiveBatchSizer.
+ */
+public class AdaptiveBatchSizerTest {
+
+    private static final int MIN_SIZE = 10;
+    private static final int MAX_SIZE = 1000;
+    private static final int WINDOW = 100;
+    // a twentieth of the maximum batch size
+    private static final int STEP = 50;
+    private static final long TARGET_MS = 20L;
+    private static final long SLOW_MS = 50L;
+    private static final long FAST_MS = 5L;
+
+    private void recordWindow(AdaptiveBatchSizer sizer, long latencyMs) {
+        for (int i = 0; i < WINDOW; i++) {
+            sizer.record(latencyMs);
+        }
+    }
+
+    @Test
+    public void testBatchSizeHalvedWhenLatencyExceedsTarget() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(MIN_SIZE, MAX_SIZE, TARGET_MS);
+        Assert.assertEquals(MAX_SIZE, sizer.getBatchSize());
+        recordWindow(sizer, SLOW_MS);
+        Assert.assertEquals(MAX_SIZE / 2, sizer.getBatchSize());
+        for (int i = 0; i < MAX_SIZE; i++) {
+            recordWindow(sizer, SLOW_MS);
+        }
+        Assert.assertEquals(MIN_SIZE, sizer.getBatchSize());
+    }
+
+    @Test
+    public void testBatchSizeGrowsAdditivelyUpToMaximum() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(MIN_SIZE, MAX_SIZE, TARGET_MS);
+        recordWindow(sizer, SLOW_MS);
+        recordWindow(sizer, FAST_MS);
+        Assert.assertEquals(MAX_SIZE / 2 + STEP, sizer.getBatchSize());
+        for (int i = 0; i < WINDOW; i++) {
+            recordWindow(sizer, FAST_MS);
+        }
+        Assert.assertEquals(MAX_SIZE, sizer.getBatchSize());
+    }
+
+    @Test
+    public void testSingleSlowBatchDoesNotShrinkBatchSize() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(MIN_SIZE, MAX_SIZE, TARGET_MS);
+        sizer.record(Long.MAX_VALUE);
+        for (int i = 1; i < WINDOW; i++) {
+            sizer.record(FAST_MS);
+        }
+        Assert.assertEquals(MAX_SIZE, sizer.getBatchSize());
+    }
+}
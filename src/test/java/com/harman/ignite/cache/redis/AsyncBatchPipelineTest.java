@@ -0,0 +1,404 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import com.harman.ignite.cache.exception.RedisBatchProcessingException;
+import com.harman.ignite.cache.exception.RedisOperationTimeoutException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.BatchResult;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RFuture;
+import org.redisson.client.RedisTimeoutException;
+import org.redisson.misc.CompletableFutureWrapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Unit test class for AsyncBatchPipeline.
+ */
+public class AsyncBatchPipelineTest {
+
+    private static final long TIMEOUT_MS = 50L;
+    private static final long WAIT_MS = 2000L;
+    private static final int BATCH_SIZE = 2;
+
+    private CompletableFuture<BatchResult<?>> firstBatch;
+    private CompletableFuture<BatchResult<?>> secondBatch;
+
+    private AsyncBatchPipeline boundedPipeline(BackpressurePolicy policy) {
+        firstBatch = new CompletableFuture<>();
+        secondBatch = new CompletableFuture<>();
+        RBatch rbatch = Mockito.mock(RBatch.class);
+        Mockito.when(rbatch.executeAsync()).thenReturn(new CompletableFutureWrapper<BatchResult<?>>(firstBatch),
+                new CompletableFutureWrapper<BatchResult<?>>(secondBatch));
+        AsyncBatchPipeline pipeline = new AsyncBatchPipeline(options -> rbatch);
+        pipeline.setBatchSize(BATCH_SIZE);
+        pipeline.setMaxPendingOperations(BATCH_SIZE);
+        pipeline.setMaxInFlightBatches(1);
+        pipeline.setBackpressurePolicy(policy);
+        pipeline.start();
+        return pipeline;
+    }
+
+    private CompletableFuture<String> submit(AsyncBatchPipeline pipeline, String key) {
+        CompletableFuture<String> f = new CompletableFuture<>();
+        pipeline.submit(new PendingOperation(key, f, batch -> batch.getBucket(key)));
+        return f;
+    }
+
+    /**
+     * Fills the in-flight batch and the pending operations of a pipeline capped to one in-flight batch
+     * and BATCH_SIZE pending operations.
+     */
+    private List<CompletableFuture<String>> fillPipeline(AsyncBatchPipeline pipeline) {
+        List<CompletableFuture<String>> futures = List.of(submit(pipeline, "k1"), submit(pipeline, "k2"),
+                submit(pipeline, "k3"), submit(pipeline, "k4"));
+        Assert.assertEquals(1, pipeline.getInFlightBatchCount());
+        Assert.assertEquals(BATCH_SIZE, pipeline.getPendingCount());
+        return futures;
+    }
+
+    @Test
+    public void testFailFastRejectsOperationWhenPipelineIsFull() {
+        AsyncBatchPipeline pipeline = boundedPipeline(BackpressurePolicy.FAIL_FAST);
+        fillPipeline(pipeline);
+        try {
+            submit(pipeline, "k5");
+            Assert.fail("Expecting RedisBatchProcessingException when the pipeline is full");
+        } catch (RedisBatchProcessingException e) {
+            Assert.assertEquals(1, pipeline.getRejectedOperationCount());
+        }
+        firstBatch.complete(new BatchResult<>(List.of(), 0));
+        // the deferred batch is executed once the in-flight batch is acknowledged
+        Assert.assertEquals(0, pipeline.getPendingCount());
+        Assert.assertEquals(1, pipeline.getInFlightBatchCount());
+        Assert.assertEquals(BATCH_SIZE, pipeline.getFlushCount(BatchFlushReason.SIZE));
+    }
+
+    @Test
+    public void testDropOldestFailsOldestPendingOperation() {
+        AsyncBatchPipeline pipeline = boundedPipeline(BackpressurePolicy.DROP_OLDEST);
+        List<CompletableFuture<String>> futures = fillPipeline(pipeline);
+        CompletableFuture<String> newest = submit(pipeline, "k5");
+        Assert.assertTrue(futures.get(BATCH_SIZE).isCompletedExceptionally());
+        Assert.assertFalse(futures.get(BATCH_SIZE + 1).isDone());
+        Assert.assertFalse(newest.isDone());
+        Assert.assertEquals(1, pipeline.getDroppedOperationCount());
+        Assert.assertEquals(BATCH_SIZE, pipeline.getPendingCount());
+    }
+
+    @Test
+    public void testBlockWaitsUntilPipelineDrains() throws Exception {
+        AsyncBatchPipeline pipeline = boundedPipeline(BackpressurePolicy.BLOCK);
+        fillPipeline(pipeline);
+        CompletableFuture<CompletableFuture<String>> blocked =
+                CompletableFuture.supplyAsync(() -> submit(pipeline, "k5"));
+        try {
+            blocked.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            Assert.fail("Expecting the caller to block while the pipeline is full");
+        } catch (TimeoutException e) {
+            // expected
+        }
+        firstBatch.complete(new BatchResult<>(List.of(), 0));
+        Assert.assertFalse(blocked.get(WAIT_MS, TimeUnit.MILLISECONDS).isDone());
+        Assert.assertEquals(1, pipeline.getPendingCount());
+    }
+
+    @Test
+    public void testBlockRejectsOperationAfterDrainTimeout() {
+        AsyncBatchPipeline pipeline = boundedPipeline(BackpressurePolicy.BLOCK);
+        pipeline.setDrainTimeoutMs(TIMEOUT_MS);
+        fillPipeline(pipeline);
+        try {
+            submit(pipeline, "k5");
+            Assert.fail("Expecting RedisBatchProcessingException when the pipeline stays full");
+        } catch (RedisBatchProcessingException e) {
+            Assert.assertEquals(1, pipeline.getRejectedOperationCount());
+            Assert.assertEquals(BATCH_SIZE, pipeline.getPendingCount());
+        }
+    }
+
+    @Test
+    public void testShutdownFailsOperationBlockedUnderBlockPolicy() throws Exception {
+        AsyncBatchPipeline pipeline = boundedPipeline(BackpressurePolicy.BLOCK);
+        fillPipeline(pipeline);
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() ->
+                pipeline.submit(new PendingOperation("k5", future, batch -> batch.getBucket("k5"))));
+        Thread.sleep(TIMEOUT_MS);
+        Assert.assertFalse(blocked.isDone());
+        pipeline.shutdown(0L);
+        try {
+            blocked.get(WAIT_MS, TimeUnit.MILLISECONDS);
+            Assert.fail("Expecting the blocked caller to be rejected on shutdown");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof RedisBatchProcessingException);
+        }
+        Assert.assertTrue(future.isCompletedExceptionally());
+        Assert.assertEquals(0, pipeline.getPendingCount());
+    }
+
+    @Test
+    public void testBatchFailureCompletesPendingFuturesExceptionally() throws InterruptedException {
+        RBatch rbatch = Mockito.mock(RBatch.class);
+        CompletableFuture<BatchResult<?>> batchFuture = new CompletableFuture<>();
+        Mockito.when(rbatch.executeAsync()).thenReturn(new CompletableFutureWrapper<BatchResult<?>>(batchFuture));
+        AsyncBatchPipeline pipeline = new AsyncBatchPipeline(options -> rbatch);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        pipeline.submit(new PendingOperation("first", first, batch -> batch.getBucket("first")));
+        pipeline.submit(new PendingOperation("second", second, batch -> batch.getBucket("second")));
+        pipeline.flush(BatchFlushReason.TIME);
+        Assert.assertFalse(first.isDone());
+        RedisTimeoutException cause = new RedisTimeoutException("Redis server response timeout");
+        batchFuture.completeExceptionally(cause);
+        for (CompletableFuture<String> f : List.of(first, second)) {
+            try {
+                f.get();
+                Assert.fail("Expecting ExecutionException when the batch fails");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof RedisBatchProcessingException);
+                Assert.assertSame(cause, e.getCause().getCause());
+            }
+        }
+    }
+
+    @Test
+    public void testOperationNotAcknowledgedInTimeIsTimedOut() throws InterruptedException {
+        RBatch rbatch = Mockito.mock(RBatch.class);
+        Mockito.when(rbatch.executeAsync())
+                .thenReturn(new CompletableFutureWrapper<BatchResult<?>>(new CompletableFuture<BatchResult<?>>()));
+        RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
+        RFuture<Void> neverCompleted = new CompletableFutureWrapper<Void>(new CompletableFuture<Void>());
+        Mockito.when(rbucket.setAsync("world")).thenReturn(neverCompleted);
+        AsyncBatchPipeline pipeline = new AsyncBatchPipeline(options -> rbatch);
+        pipeline.setOperationTimeoutMs(TIMEOUT_MS);
+        pipeline.start();
+        try {
+            CompletableFuture<String> f = new CompletableFuture<>();
+            pipeline.submit(new PendingOperation("hello", f, batch -> batch.getBucket("hello").setAsync("world")
+                    .thenAccept(v -> f.complete("mut001"))));
+            pipeline.flush(BatchFlushReason.TIME);
+            try {
+                f.get(WAIT_MS, TimeUnit.MILLISECONDS);
+                Assert.fail("Expecting ExecutionException when the operation times out");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof RedisOperationTimeoutException);
+            } catch (TimeoutException e) {
+                Assert.fail("Operation was not timed out by the pipeline");
+            }
+        } finally {
+            pipeline.shutdown(0L);
+        }
+    }
+
+    @Test
+    public void testTimedOutOperationIsNotAddedToBatch() throws InterruptedException {
+        RBatch rbatch = Mockito.mock(RBatch.class);
+        AsyncBatchPipeline pipeline = new AsyncBatchPipeline(options -> rbatch);
+        pipeline.setOperationTimeoutMs(TIMEOUT_MS);
+        pipeline.start();
+        try {
+            CompletableFuture<String> f = new CompletableFuture<>();
+            pipeline.submit(new PendingOperation("hello", f, batch -> batch.getBucket("hello")));
+            try {
+                f.get(WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                // expected, the operation times out while waiting in the pipeline
+            }
+            Assert.assertTrue(f.isCompletedExceptionally());
+            pipeline.flush(BatchFlushReason.TIME);
+            Mockito.verify(rbatch, Mockito.never()).getBucket("hello");
+            Mockito.verify(rbatch, Mockito.never()).executeAsync();
+            Assert.assertEquals(0, pipeline.getPendingCount());
+        } finally {
+            pipeline.shutdown(0L);
+        }
+    }
+
+    private AsyncBatchPipeline pipelineAcknowledgedBy(CompletableFuture<BatchResult<?>> ack) {
+        RBatch rbatch = Mockito.mock(RBatch.class);
+        Mockito.when(rbatch.executeAsync()).thenReturn(new CompletableFutureWrapper<BatchResult<?>>(ack));
+        return new AsyncBatchPipeline(options -> rbatch);
+    }
+
+    @Test
+    public void testShutdownFlushesPendingOperationsAndRejectsNewOnes() {
+        CompletableFuture<BatchResult<?>> ack = new CompletableFuture<>();
+        AsyncBatchPipeline pipeline = pipelineAcknowledgedBy(ack);
+        CompletableFuture<String> first = submit(pipeline, "k1");
+        CompletableFuture<String> second = submit(pipeline, "k2");
+        // redis completes the operations of a batch before the batch itself
+        CompletableFuture.delayedExecutor(TIMEOUT_MS, TimeUnit.MILLISECONDS).execute(() -> {
+            first.complete("k1");
+            second.complete("k2");
+            ack.complete(new BatchResult<>(List.of(), 0));
+        });
+        PipelineDrainReport report = pipeline.shutdown(WAIT_MS);
+        Assert.assertEquals(BATCH_SIZE, report.getFlushed());
+        Assert.assertEquals(0, report.getAbandoned());
+        Assert.assertEquals("k1", first.join());
+        Assert.assertEquals("k2", second.join());
+        Assert.assertEquals(1, pipeline.getFlushCount(BatchFlushReason.SHUTDOWN));
+        try {
+            submit(pipeline, "k3");
+            Assert.fail("Expecting RedisBatchProcessingException after shutdown");
+        } catch (RedisBatchProcessingException e) {
+            Assert.assertEquals(0, pipeline.getPendingCount());
+        }
+    }
+
+    @Test
+    public void testShutdownAbandonsOperationsNotAcknowledgedInTime() {
+        CompletableFuture<BatchResult<?>> ack = new CompletableFuture<>();
+        AsyncBatchPipeline pipeline = pipelineAcknowledgedBy(ack);
+        CompletableFuture<String> first = submit(pipeline, "k1");
+        CompletableFuture<String> second = submit(pipeline, "k2");
+        PipelineDrainReport report = pipeline.shutdown(TIMEOUT_MS);
+        Assert.assertEquals(0, report.getFlushed());
+        Assert.assertEquals(BATCH_SIZE, report.getAbandoned());
+        Assert.assertTrue(first.isCompletedExceptionally());
+        Assert.assertTrue(second.isCompletedExceptionally());
+    }
+
+    private CompletableFuture<String> overwrite(AsyncBatchPipeline pipeline, String key, String mutationId,
+                                                List<String> applied, CompletableFuture<BatchResult<?>> ack) {
+        CompletableFuture<String> f = new CompletableFuture<>();
+        pipeline.submit(PendingOperation.overwrite(key, f, mutationId, batch -> {
+            applied.add(mutationId);
+            ack.thenRun(() -> f.complete(mutationId));
+        }));
+        return f;
+    }
+
+    @Test
+    public void testOverwritesOfSameKeyCoalesceToLastWrite() {
+        CompletableFuture<BatchResult<?>> ack = new CompletableFuture<>();
+        AsyncBatchPipeline pipeline = pipelineAcknowledgedBy(ack);
+        pipeline.setCoalescingEnabled(true);
+        List<String> applied = new ArrayList<>();
+        CompletableFuture<String> first = overwrite(pipeline, "k1", "m1", applied, ack);
+        CompletableFuture<String> second = overwrite(pipeline, "k1", "m2", applied, ack);
+        CompletableFuture<String> other = overwrite(pipeline, "k2", "m3", applied, ack);
+        CompletableFuture<String> last = overwrite(pipeline, "k1", "m4", applied, ack);
+        pipeline.flush(BatchFlushReason.TIME);
+        Assert.assertEquals(List.of("m3", "m4"), applied);
+        Assert.assertEquals(BATCH_SIZE, pipeline.getCoalescedOperationCount());
+        Assert.assertFalse(first.isDone());
+        ack.complete(new BatchResult<>(List.of(), 0));
+        Assert.assertEquals("m1", first.join());
+        Assert.assertEquals("m2", second.join());
+        Assert.assertEquals("m3", other.join());
+        Assert.assertEquals("m4", last.join());
+    }
+
+    @Test
+    public void testOtherOperationOnKeyPreventsCoalescing() {
+        CompletableFuture<BatchResult<?>> ack = new CompletableFuture<>();
+        AsyncBatchPipeline pipeline = pipelineAcknowledgedBy(ack);
+        pipeline.setCoalescingEnabled(true);
+        List<String> applied = new ArrayList<>();
+        overwrite(pipeline, "k1", "m1", applied, ack);
+        pipeline.submit(new PendingOperation("k1", new CompletableFuture<String>(), batch -> applied.add("cas")));
+        overwrite(pipeline, "k1", "m2", applied, ack);
+        pipeline.flush(BatchFlushReason.TIME);
+        Assert.assertEquals(List.of("m1", "cas", "m2"), applied);
+        Assert.assertEquals(0, pipeline.getCoalescedOperationCount());
+    }
+
+    @Test
+    public void testBatchOfOverwritesSkipsResultsAndAcknowledgesMutationIds() {
+        RBatch rbatch = Mockito.mock(RBatch.class);
+        Mockito.when(rbatch.executeAsync()).thenReturn(new CompletableFutureWrapper<BatchResult<?>>(
+                new BatchResult<Object>(new ArrayList<>(), 0)));
+        List<BatchOptions> usedOptions = new ArrayList<>();
+        AsyncBatchPipeline pipeline = new AsyncBatchPipeline(options -> {
+            usedOptions.add(options);
+            return rbatch;
+        });
+        BatchOptions skipResult = BatchOptions.defaults().skipResult();
+        pipeline.setSkipResultOptions(skipResult);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        pipeline.submit(PendingOperation.overwrite("k1", first, "m1", batch -> batch.getBucket("k1")));
+        pipeline.submit(PendingOperation.overwrite("k2", second, "m2", batch -> batch.getBucket("k2")));
+        pipeline.flush(BatchFlushReason.TIME);
+        Assert.assertEquals(List.of(skipResult), usedOptions);
+        Assert.assertEquals("m1", first.join());
+        Assert.assertEquals("m2", second.join());
+        Assert.assertEquals(1, pipeline.getSkipResultBatchCount());
+    }
+
+    @Test
+    public void testBatchNeedingRepliesDoesNotSkipResults() {
+        RBatch rbatch = Mockito.mock(RBatch.class);
+        Mockito.when(rbatch.executeAsync()).thenReturn(new CompletableFutureWrapper<BatchResult<?>>(
+                new BatchResult<Object>(new ArrayList<>(), 0)));
+        List<BatchOptions> usedOptions = new ArrayList<>();
+        AsyncBatchPipeline pipeline = new AsyncBatchPipeline(options -> {
+            usedOptions.add(options);
+            return rbatch;
+        });
+        pipeline.setSkipResultOptions(BatchOptions.defaults().skipResult());
+        CompletableFuture<String> overwrite = new CompletableFuture<>();
+        pipeline.submit(PendingOperation.overwrite("k1", overwrite, "m1", batch -> batch.getBucket("k1")));
+        pipeline.submit(new PendingOperation("k2", new CompletableFuture<String>(), batch -> batch.getBucket("k2")));
+        pipeline.flush(BatchFlushReason.TIME);
+        Assert.assertEquals(Collections.singletonList(null), usedOptions);
+        Assert.assertFalse(overwrite.isDone());
+        Assert.assertEquals(0, pipeline.getSkipResultBatchCount());
+    }
+
+    @Test
+    public void testReadFlushedAfterReadLingerWithDefaults() throws Exception {
+        RBatch rbatch = Mockito.mock(RBatch.class);
+        Mockito.when(rbatch.executeAsync()).thenReturn(new CompletableFutureWrapper<BatchResult<?>>(
+                new BatchResult<Object>(new ArrayList<>(), 0)));
+        AsyncBatchPipeline pipeline = new AsyncBatchPipeline(options -> rbatch);
+        pipeline.start();
+        // the read linger is timed per read, without a periodic flusher
+        Assert.assertNull(ReflectionTestUtils.getField(pipeline, "lingerTask"));
+        CompletableFuture<String> write = submit(pipeline, "k1");
+        Thread.sleep(TIMEOUT_MS);
+        Assert.assertFalse(write.isDone());
+        Assert.assertEquals(1, pipeline.getPendingCount());
+
+        CompletableFuture<String> read = new CompletableFuture<>();
+        pipeline.submit(PendingOperation.read("k2", read, batch -> read.complete("v2")));
+        Assert.assertEquals("v2", read.get(WAIT_MS, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(0, pipeline.getPendingCount());
+        Assert.assertEquals(1, pipeline.getFlushCount(BatchFlushReason.TIME));
+
+        CompletableFuture<String> next = new CompletableFuture<>();
+        pipeline.submit(PendingOperation.read("k3", next, batch -> next.complete("v3")));
+        Assert.assertEquals("v3", next.get(WAIT_MS, TimeUnit.MILLISECONDS));
+        pipeline.shutdown(WAIT_MS);
+    }
+}
@@ -356,6 +356,28 @@ public class IgniteCacheRedisImplIntegrationTest {
         Assert.assertEquals(value3, kv.get("namespace:KEY2"));
     }
 
+    @Test
+    public void testScanKeyValuePairsForRegexStopAndResume() {
+        Set<String> expected = new HashSet<>();
+        for (int i = 1; i <= THREE.getValue(); i++) {
+            PutEntityRequest<IgniteCacheIntegTestEntity> req = new PutEntityRequest<IgniteCacheIntegTestEntity>();
+            req.withKey("SCANKEY" + i);
+            req.withValue(new IgniteCacheIntegTestEntity("id" + i, "value" + i, TEN.getValue()));
+            igniteCache.putEntity(req);
+            expected.add("namespace:SCANKEY" + i);
+        }
+        Set<String> scanned = new HashSet<>();
+        String cursor = igniteCache.<IgniteCacheIntegTestEntity>scanKeyValuePairsForRegex("SCANKEY*",
+                Optional.empty(), IgniteCache.SCAN_START_CURSOR, (key, entity) -> !scanned.add(key));
+        Assert.assertEquals(1, scanned.size());
+        Assert.assertNotEquals(IgniteCache.SCAN_START_CURSOR, cursor);
+
+        cursor = igniteCache.<IgniteCacheIntegTestEntity>scanKeyValuePairsForRegex("SCANKEY*",
+                Optional.empty(), cursor, (key, entity) -> scanned.add(key));
+        Assert.assertEquals(IgniteCache.SCAN_START_CURSOR, cursor);
+        Assert.assertEquals(expected, scanned);
+    }
+
     @Test
     public void testGetKeyValueWithKeyRegexWithNamespaceDisabled() {
         PutEntityRequest<IgniteCacheIntegTestEntity> req1 = new PutEntityRequest<IgniteCacheIntegTestEntity>();
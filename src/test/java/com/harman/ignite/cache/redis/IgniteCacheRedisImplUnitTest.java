@@ -26,33 +26,68 @@ import com.harman.ignite.cache.GetMapOfEntitiesRequest;
 import com.harman.ignite.cache.GetScoredEntitiesRequest;
 import com.harman.ignite.cache.GetScoredStringsRequest;
 import com.harman.ignite.cache.GetStringRequest;
+import com.harman.ignite.cache.IgniteCache;
 import com.harman.ignite.cache.PutEntityRequest;
 import com.harman.ignite.cache.PutMapOfEntitiesRequest;
 import com.harman.ignite.cache.PutStringRequest;
+import com.harman.ignite.cache.RegexScanPage;
 import com.harman.ignite.domain.Version;
 import com.harman.ignite.entities.IgniteEntity;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.redisson.api.BatchResult;
 import org.redisson.api.RBatch;
 import org.redisson.api.RBucket;
 import org.redisson.api.RBucketAsync;
+import org.redisson.api.RBuckets;
 import org.redisson.api.RFuture;
+import org.redisson.api.RKeys;
+import org.redisson.api.RLocalCachedMap;
 import org.redisson.api.RScoredSortedSet;
 import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RPatternTopic;
+import org.redisson.api.RScript;
+import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.api.redisnode.RedisCluster;
+import org.redisson.api.redisnode.RedisClusterMaster;
+import org.redisson.api.redisnode.RedisNodes;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.Decoder;
 import org.redisson.client.protocol.ScoredEntry;
+import org.redisson.cluster.ClusterSlotRange;
+import org.redisson.config.Config;
 import org.redisson.misc.CompletableFutureWrapper;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static com.harman.ignite.cache.redis.RedisConstants.FIVE;
+import static com.harman.ignite.cache.redis.RedisConstants.THREE;
 
 /**
  * Unit test class for IgniteCacheRedisImpl.
@@ -61,6 +96,12 @@ public class IgniteCacheRedisImplUnitTest {
 
     private static final long THOUSAND_LONG = 1000L;
     private static final double TWO_DOUBLE = 2.0D;
+    private static final int TWO_INT = 2;
+    private static final int TEN_INT = 10;
+    private static final int HUNDRED_INT = 100;
+    // mode, script, return type and keys precede the values of a script call
+    private static final int SCRIPT_VALUES_INDEX = 4;
+    private static final int REDIS_PORT = 6379;
 
     @Test
     public void testGetStringWithNamespaceNotProvided() {
@@ -98,20 +139,290 @@ public class IgniteCacheRedisImplUnitTest {
     @Test
     public void testDeleteEntryAsyncRequestWithNamespaceDisabled() throws InterruptedException, ExecutionException {
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
-        RBatch rbatch = Mockito.mock(RBatch.class);
-        redisCache.setRBatch(rbatch);
-        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RBatch rbatch = mockBatch(redisCache);
         RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
         Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
         Mockito.when(rbucket.deleteAsync()).thenReturn(new CompletableFutureWrapper(true));
-        redisCache.setRedissonClient(redisson);
         Future<String> mutationId = redisCache.deleteAsync(
                 new DeleteEntryRequest().withKey("hello").withMutationId("mut001").withNamespaceEnabled(false));
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
         Assert.assertTrue(mutationId.isDone());
         Assert.assertEquals("mut001", mutationId.get());
         Mockito.verify(rbucket).deleteAsync();
     }
 
+    @Test
+    public void testDeleteEntryRequestWithUnlink() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RBucket<Object> rbucket = (RBucket<Object>) Mockito.mock(RBucket.class);
+        Mockito.when(redisson.getBucket("hello")).thenReturn(rbucket);
+        redisCache.setRedissonClient(redisson);
+        redisCache.setUnlinkEnabled(true);
+        redisCache.delete(new DeleteEntryRequest().withKey("hello").withNamespaceEnabled(false));
+        Mockito.verify(rbucket).unlink();
+        Mockito.verify(rbucket, Mockito.never()).delete();
+    }
+
+    @Test
+    public void testDeleteAll() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RKeys rkeys = Mockito.mock(RKeys.class);
+        Mockito.when(redisson.getKeys()).thenReturn(rkeys);
+        Mockito.when(rkeys.delete("k1", "k2")).thenReturn(2L);
+        redisCache.setRedissonClient(redisson);
+        long deleted = redisCache.deleteAll(List.of(
+                new DeleteEntryRequest().withKey("k1").withNamespaceEnabled(false),
+                new DeleteEntryRequest().withKey("k2").withNamespaceEnabled(false)));
+        Assert.assertEquals(TWO_INT, deleted);
+        Mockito.verify(rkeys, Mockito.never()).unlink(Mockito.any(String[].class));
+    }
+
+    @Test
+    public void testDeleteAllWithUnlink() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RKeys rkeys = Mockito.mock(RKeys.class);
+        Mockito.when(redisson.getKeys()).thenReturn(rkeys);
+        Mockito.when(rkeys.unlink("k1", "k2")).thenReturn(2L);
+        redisCache.setRedissonClient(redisson);
+        redisCache.setUnlinkEnabled(true);
+        long deleted = redisCache.deleteAll(List.of(
+                new DeleteEntryRequest().withKey("k1").withNamespaceEnabled(false),
+                new DeleteEntryRequest().withKey("k2").withNamespaceEnabled(false)));
+        Assert.assertEquals(TWO_INT, deleted);
+        Assert.assertEquals(0L, redisCache.deleteAll(Collections.emptyList()));
+        Mockito.verify(rkeys).unlink("k1", "k2");
+    }
+
+    @Test
+    public void testKeyValuePairsForRegexScanEveryClusterMaster() throws IOException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        Config config = Mockito.mock(Config.class);
+        Mockito.when(config.isClusterConfig()).thenReturn(true);
+        Mockito.when(redisson.getConfig()).thenReturn(config);
+        RedisCluster cluster = Mockito.mock(RedisCluster.class);
+        RedisClusterMaster master1 = Mockito.mock(RedisClusterMaster.class);
+        RedisClusterMaster master2 = Mockito.mock(RedisClusterMaster.class);
+        int lastSlot = ClusterSlots.SLOT_COUNT - 1;
+        int half = ClusterSlots.SLOT_COUNT / TWO_INT;
+        Mockito.when(master1.getAddr()).thenReturn(new InetSocketAddress("10.0.0.1", REDIS_PORT));
+        Mockito.when(master2.getAddr()).thenReturn(new InetSocketAddress("10.0.0.2", REDIS_PORT));
+        // CLUSTER SLOTS describes the whole cluster whichever master it is sent to
+        Map<ClusterSlotRange, Set<String>> slots = Map.of(
+                new ClusterSlotRange(0, half - 1), Set.of("10.0.0.1:" + REDIS_PORT, "10.0.0.3:" + REDIS_PORT),
+                new ClusterSlotRange(half, lastSlot), Set.of("10.0.0.2:" + REDIS_PORT, "10.0.0.4:" + REDIS_PORT));
+        Mockito.when(master1.clusterSlots()).thenReturn(slots);
+        Mockito.when(master2.clusterSlots()).thenReturn(slots);
+        Mockito.when(cluster.getMasters()).thenReturn(List.of(master1, master2));
+        Mockito.when(redisson.getRedisNodes(RedisNodes.CLUSTER)).thenReturn(cluster);
+        String node1 = ClusterSlots.keyInSlots(slot -> slot < half);
+        String node2 = ClusterSlots.keyInSlots(slot -> slot >= half);
+        RScript rscript = Mockito.mock(RScript.class);
+        Mockito.when(redisson.getScript(Mockito.any(Codec.class))).thenReturn(rscript);
+        mockScanPage(rscript, node1, 0L, List.of(0L, "k1", "v1"));
+        long nextCursor = FIVE.getValue();
+        mockScanPage(rscript, node2, 0L, List.of(nextCursor, "k2", "v2"));
+        mockScanPage(rscript, node2, nextCursor, List.of(0L, "k3", "v3"));
+        Decoder<Object> decoder = Mockito.mock(Decoder.class);
+        IgniteEntity entity = new IgniteCacheTestEntity();
+        Mockito.when(decoder.decode(Mockito.any(), Mockito.any())).thenReturn(entity);
+        ReflectionTestUtils.setField(redisCache, "decoder", decoder);
+        redisCache.setRedissonClient(redisson);
+        Map<String, IgniteEntity> kv = redisCache.getKeyValuePairsForRegex("k*", Optional.of(Boolean.FALSE));
+        Assert.assertEquals(Set.of("k1", "k2", "k3"), kv.keySet());
+        Assert.assertEquals(entity, kv.get("k3"));
+    }
+
+    @Test
+    public void testKeyValuePairsForRegexWithScanEngineReadsValuesWithMget() throws IOException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        Mockito.when(redisson.getConfig()).thenReturn(Mockito.mock(Config.class));
+        RScript rscript = Mockito.mock(RScript.class);
+        Mockito.when(redisson.getScript(Mockito.any(Codec.class))).thenReturn(rscript);
+        long nextCursor = FIVE.getValue();
+        Mockito.when(rscript.<List<Object>>evalAsync(RScript.Mode.READ_ONLY, null, RScript.ReturnType.MULTI,
+                Collections.emptyList(), scanArgs(0L)))
+                .thenReturn(new CompletableFutureWrapper<>(List.of(String.valueOf(nextCursor), "k1", "k2")));
+        Mockito.when(rscript.<List<Object>>evalAsync(RScript.Mode.READ_ONLY, null, RScript.ReturnType.MULTI,
+                Collections.emptyList(), scanArgs(nextCursor)))
+                .thenReturn(new CompletableFutureWrapper<>(List.of("0")));
+        RBuckets rbuckets = Mockito.mock(RBuckets.class);
+        Mockito.when(redisson.getBuckets(Mockito.any(Codec.class))).thenReturn(rbuckets);
+        // k2 is deleted between SCAN and MGET
+        Mockito.when(rbuckets.<Object>getAsync("k1", "k2"))
+                .thenReturn(new CompletableFutureWrapper<>(Map.of("k1", "v1")));
+        Decoder<Object> decoder = Mockito.mock(Decoder.class);
+        IgniteEntity entity = new IgniteCacheTestEntity();
+        Mockito.when(decoder.decode(Mockito.any(), Mockito.any())).thenReturn(entity);
+        ReflectionTestUtils.setField(redisCache, "decoder", decoder);
+        redisCache.setRedissonClient(redisson);
+        redisCache.setRegexScanEngine(RegexScanEngine.SCAN);
+        Map<String, IgniteEntity> kv = redisCache.getKeyValuePairsForRegex("k*", Optional.of(Boolean.FALSE));
+        Assert.assertEquals(Map.of("k1", entity), kv);
+    }
+
+    @Test
+    public void testKeyValuePairsForRegexDecodesRawBytes() throws IOException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        Mockito.when(redisson.getConfig()).thenReturn(Mockito.mock(Config.class));
+        RScript rscript = Mockito.mock(RScript.class);
+        Mockito.when(redisson.getScript(ByteArrayCodec.INSTANCE)).thenReturn(rscript);
+        byte[] payload = "{\"value\":\"\u00e9\"}".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(rscript.<List<Object>>evalAsync(RScript.Mode.READ_ONLY, null, RScript.ReturnType.MULTI,
+                Collections.emptyList(), scanArgs(0L)))
+                .thenReturn(new CompletableFutureWrapper<>(
+                        List.of(0L, "k1".getBytes(StandardCharsets.UTF_8), payload)));
+        Decoder<Object> decoder = Mockito.mock(Decoder.class);
+        IgniteEntity entity = new IgniteCacheTestEntity();
+        Mockito.when(decoder.decode(Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            ByteBuf buf = invocation.getArgument(0);
+            Assert.assertEquals(Unpooled.wrappedBuffer(payload), buf);
+            return entity;
+        });
+        ReflectionTestUtils.setField(redisCache, "decoder", decoder);
+        redisCache.setRedissonClient(redisson);
+        Map<String, IgniteEntity> kv = redisCache.getKeyValuePairsForRegex("k*", Optional.of(Boolean.FALSE));
+        Assert.assertEquals(Map.of("k1", entity), kv);
+    }
+
+    @Test
+    public void testPagedKeyValuePairsForRegex() throws IOException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        Mockito.when(redisson.getConfig()).thenReturn(Mockito.mock(Config.class));
+        RScript rscript = Mockito.mock(RScript.class);
+        Mockito.when(redisson.getScript(Mockito.any(Codec.class))).thenReturn(rscript);
+        Mockito.when(rscript.<List<Object>>evalAsync(RScript.Mode.READ_ONLY, null, RScript.ReturnType.MULTI,
+                Collections.emptyList(), scanArgs(0L)))
+                .thenReturn(new CompletableFutureWrapper<>(List.of(0L, "k1", "v1", "k2", "v2", "k3", "v3")));
+        Decoder<Object> decoder = Mockito.mock(Decoder.class);
+        IgniteEntity entity = new IgniteCacheTestEntity();
+        Mockito.when(decoder.decode(Mockito.any(), Mockito.any())).thenReturn(entity);
+        ReflectionTestUtils.setField(redisCache, "decoder", decoder);
+        redisCache.setRedissonClient(redisson);
+        RegexScanPage<IgniteEntity> page = redisCache.getKeyValuePairsForRegex("k*", Optional.of(Boolean.FALSE),
+                IgniteCache.SCAN_START_CURSOR, TWO_INT, TimeUnit.MINUTES.toMillis(1));
+        Assert.assertEquals(List.of("k1", "k2"), List.copyOf(page.getEntries().keySet()));
+        Assert.assertFalse(page.isComplete());
+        page = redisCache.getKeyValuePairsForRegex("k*", Optional.of(Boolean.FALSE), page.getCursor(), TWO_INT,
+                TimeUnit.MINUTES.toMillis(1));
+        Assert.assertEquals(List.of("k3"), List.copyOf(page.getEntries().keySet()));
+        Assert.assertTrue(page.isComplete());
+    }
+
+    @Test
+    public void testPagedKeyValuePairsForRegexResumesWithRecordedCount() throws IOException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        Mockito.when(redisson.getConfig()).thenReturn(Mockito.mock(Config.class));
+        RScript rscript = Mockito.mock(RScript.class);
+        Mockito.when(redisson.getScript(Mockito.any(Codec.class))).thenReturn(rscript);
+        long nextCursor = FIVE.getValue();
+        int largePage = TWO_INT * TEN_INT;
+        mockScanPage(rscript, 0L, largePage, List.of(nextCursor, "k1", "v1", "k2", "v2", "k3", "v3"));
+        // a smaller COUNT returns a different first page, which must not be used to resume the larger one
+        mockScanPage(rscript, 0L, TEN_INT, List.of(THREE.getValue(), "k1", "v1"));
+        mockScanPage(rscript, nextCursor, TEN_INT, List.of(0L, "k4", "v4"));
+        Decoder<Object> decoder = Mockito.mock(Decoder.class);
+        Mockito.when(decoder.decode(Mockito.any(), Mockito.any())).thenReturn(new IgniteCacheTestEntity());
+        ReflectionTestUtils.setField(redisCache, "decoder", decoder);
+        redisCache.setRedissonClient(redisson);
+        ReflectionTestUtils.setField(redisCache, "scanLimit", largePage);
+        RegexScanPage<IgniteEntity> page = redisCache.getKeyValuePairsForRegex("k*", Optional.of(Boolean.FALSE),
+                IgniteCache.SCAN_START_CURSOR, TWO_INT, TimeUnit.MINUTES.toMillis(1));
+        Assert.assertEquals(List.of("k1", "k2"), List.copyOf(page.getEntries().keySet()));
+        // the page size of the resuming call differs from the COUNT of the page it resumes
+        ReflectionTestUtils.setField(redisCache, "scanLimit", TEN_INT);
+        page = redisCache.getKeyValuePairsForRegex("k*", Optional.of(Boolean.FALSE), page.getCursor(), TWO_INT,
+                TimeUnit.MINUTES.toMillis(1));
+        Assert.assertEquals(List.of("k3", "k4"), List.copyOf(page.getEntries().keySet()));
+        Assert.assertTrue(page.isComplete());
+    }
+
+    @Test
+    public void testPagedKeyValuePairsForRegexWithScanEngineCountsDeletedKeys() throws IOException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        Mockito.when(redisson.getConfig()).thenReturn(Mockito.mock(Config.class));
+        RScript rscript = Mockito.mock(RScript.class);
+        Mockito.when(redisson.getScript(Mockito.any(Codec.class))).thenReturn(rscript);
+        mockScanPage(rscript, 0L, TEN_INT, List.of("0", "k1", "k2", "k3"));
+        RBuckets rbuckets = Mockito.mock(RBuckets.class);
+        Mockito.when(redisson.getBuckets(Mockito.any(Codec.class))).thenReturn(rbuckets);
+        // k1 is deleted between SCAN and MGET
+        Mockito.when(rbuckets.<Object>getAsync("k1", "k2", "k3"))
+                .thenReturn(new CompletableFutureWrapper<>(Map.of("k2", "v2", "k3", "v3")));
+        Decoder<Object> decoder = Mockito.mock(Decoder.class);
+        Mockito.when(decoder.decode(Mockito.any(), Mockito.any())).thenReturn(new IgniteCacheTestEntity());
+        ReflectionTestUtils.setField(redisCache, "decoder", decoder);
+        redisCache.setRedissonClient(redisson);
+        redisCache.setRegexScanEngine(RegexScanEngine.SCAN);
+        RegexScanPage<IgniteEntity> page = redisCache.getKeyValuePairsForRegex("k*", Optional.of(Boolean.FALSE),
+                IgniteCache.SCAN_START_CURSOR, 1, TimeUnit.MINUTES.toMillis(1));
+        Assert.assertEquals(List.of("k2"), List.copyOf(page.getEntries().keySet()));
+        page = redisCache.getKeyValuePairsForRegex("k*", Optional.of(Boolean.FALSE), page.getCursor(), 1,
+                TimeUnit.MINUTES.toMillis(1));
+        Assert.assertEquals(List.of("k3"), List.copyOf(page.getEntries().keySet()));
+        Assert.assertTrue(page.isComplete());
+    }
+
+    private void mockScanPage(RScript rscript, long cursor, int count, List<Object> page) {
+        Mockito.when(rscript.<List<Object>>evalAsync(RScript.Mode.READ_ONLY, null, RScript.ReturnType.MULTI,
+                Collections.emptyList(), scanArgs(cursor, count))).thenReturn(new CompletableFutureWrapper<>(page));
+    }
+
+    private void mockScanPage(RScript rscript, String node, long cursor, List<Object> page) {
+        Mockito.when(rscript.<List<Object>>evalAsync(node, RScript.Mode.READ_ONLY, null, RScript.ReturnType.MULTI,
+                Collections.emptyList(), scanArgs(cursor))).thenReturn(new CompletableFutureWrapper<>(page));
+    }
+
+    /**
+     * Arguments of a scan script page for the pattern k* with the default scan limit.
+     */
+    private static Object[] scanArgs(long cursor) {
+        return scanArgs(cursor, TEN_INT);
+    }
+
+    /**
+     * Arguments of a scan script page for the pattern k* with the given COUNT.
+     */
+    private static Object[] scanArgs(long cursor, int count) {
+        return new Object[] {
+            String.valueOf(cursor).getBytes(StandardCharsets.UTF_8),
+            String.valueOf(count).getBytes(StandardCharsets.UTF_8),
+            "k*".getBytes(StandardCharsets.UTF_8)
+        };
+    }
+
+    @Test
+    public void testScanScriptArgumentsAcceptedByByteArrayCodecEncoder() throws IOException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        Mockito.when(redisson.getConfig()).thenReturn(Mockito.mock(Config.class));
+        RScript rscript = Mockito.mock(RScript.class);
+        Mockito.when(redisson.getScript(ByteArrayCodec.INSTANCE)).thenReturn(rscript);
+        List<String> encoded = new ArrayList<>();
+        Mockito.when(rscript.<List<Object>>evalAsync(RScript.Mode.READ_ONLY, null, RScript.ReturnType.MULTI,
+                Collections.emptyList(), scanArgs(0L))).thenAnswer(invocation -> {
+                    // Redisson encodes every script argument with the value encoder of the script codec
+                    Object[] args = invocation.getArguments();
+                    for (int i = SCRIPT_VALUES_INDEX; i < args.length; i++) {
+                        ByteBuf buf = ByteArrayCodec.INSTANCE.getValueEncoder().encode(args[i]);
+                        encoded.add(buf.toString(StandardCharsets.UTF_8));
+                    }
+                    return new CompletableFutureWrapper<>(List.of(0L));
+                });
+        redisCache.setRedissonClient(redisson);
+        Map<String, IgniteEntity> kv = redisCache.getKeyValuePairsForRegex("k*", Optional.of(Boolean.FALSE));
+        Assert.assertTrue(kv.isEmpty());
+        Assert.assertEquals(List.of("0", String.valueOf(TEN_INT), "k*"), encoded);
+    }
+
     @Test
     public void testGetStringKeyValueWithNamespaceDisabled() {
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
@@ -474,8 +785,7 @@ public class IgniteCacheRedisImplUnitTest {
     @Test
     public void testPutStringKeyValueAsyncWithNamespaceDisabled() throws InterruptedException, ExecutionException {
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
-        RBatch rbatch = Mockito.mock(RBatch.class);
-        redisCache.setRBatch(rbatch);
+        RBatch rbatch = mockBatch(redisCache);
         RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
         Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
         Mockito.when(rbucket.setAsync("world")).thenReturn(new CompletableFutureWrapper<Void>((Void) null));
@@ -485,6 +795,7 @@ public class IgniteCacheRedisImplUnitTest {
                         .withValue("world")
                         .withMutationId("mut001")
                         .withNamespaceEnabled(false));
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
         Assert.assertTrue(ret.isDone());
         Assert.assertEquals("mut001", ret.get());
         Mockito.verify(rbucket).setAsync("world");
@@ -517,8 +828,7 @@ public class IgniteCacheRedisImplUnitTest {
     public void testPutStringKeyValueAsyncWithNullMutationIdWithNamespaceDisabled()
             throws InterruptedException, ExecutionException {
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
-        RBatch rbatch = Mockito.mock(RBatch.class);
-        redisCache.setRBatch(rbatch);
+        RBatch rbatch = mockBatch(redisCache);
         RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
         Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
         Mockito.when(rbucket.setAsync("world")).thenReturn(new CompletableFutureWrapper<Void>((Void) null));
@@ -528,6 +838,7 @@ public class IgniteCacheRedisImplUnitTest {
                         .withValue("world")
                         .withMutationId(null)
                         .withNamespaceEnabled(false));
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
         Assert.assertTrue(ret.isDone());
         Assert.assertNull(ret.get());
         Mockito.verify(rbucket).setAsync("world");
@@ -537,8 +848,7 @@ public class IgniteCacheRedisImplUnitTest {
     public void testPutStringKeyValueWithTtlAsyncWithNamespaceDisabled()
             throws InterruptedException, ExecutionException {
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
-        RBatch rbatch = Mockito.mock(RBatch.class);
-        redisCache.setRBatch(rbatch);
+        RBatch rbatch = mockBatch(redisCache);
         RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
         Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
         Mockito.when(rbucket.setAsync("world", THOUSAND_LONG, TimeUnit.MILLISECONDS))
@@ -550,6 +860,7 @@ public class IgniteCacheRedisImplUnitTest {
                         .withTtlMs(THOUSAND_LONG)
                         .withMutationId("mut001")
                         .withNamespaceEnabled(false));
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
         Assert.assertTrue(ret.isDone());
         Assert.assertEquals("mut001", ret.get());
         Mockito.verify(rbucket).setAsync("world", THOUSAND_LONG, TimeUnit.MILLISECONDS);
@@ -559,8 +870,7 @@ public class IgniteCacheRedisImplUnitTest {
     public void testPutStringKeyValueIfAsyncWithNamespaceDisabled()
             throws InterruptedException, ExecutionException {
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
-        RBatch rbatch = Mockito.mock(RBatch.class);
-        redisCache.setRBatch(rbatch);
+        RBatch rbatch = mockBatch(redisCache);
         RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
         Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
         Mockito.when(rbucket.compareAndSetAsync("", "world")).thenReturn(new CompletableFutureWrapper(true));
@@ -570,6 +880,7 @@ public class IgniteCacheRedisImplUnitTest {
                         .ifCurrentMatches("")
                         .withValue("world")
                         .withMutationId("mut001"));
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
         Assert.assertTrue(ret.isDone());
         Assert.assertEquals("mut001", ret.get());
         Mockito.verify(rbucket).compareAndSetAsync("", "world");
@@ -580,14 +891,14 @@ public class IgniteCacheRedisImplUnitTest {
             throws InterruptedException, ExecutionException {
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
         IgniteCacheTestEntity entity = new IgniteCacheTestEntity();
-        RBatch rbatch = Mockito.mock(RBatch.class);
-        redisCache.setRBatch(rbatch);
+        RBatch rbatch = mockBatch(redisCache);
         RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
         Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
         Mockito.when(rbucket.setAsync(entity)).thenReturn(new CompletableFutureWrapper<Void>((Void) null));
         PutEntityRequest<IgniteCacheTestEntity> req = new PutEntityRequest<>();
         req.withKey("hello").withValue(entity).withMutationId("mut001").withNamespaceEnabled(false);
         Future<String> ret = redisCache.putEntityAsync(req);
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
         Assert.assertTrue(ret.isDone());
         Assert.assertEquals("mut001", ret.get());
         Mockito.verify(rbucket).setAsync(entity);
@@ -624,8 +935,7 @@ public class IgniteCacheRedisImplUnitTest {
     public void testPutEntityWithTtlAsyncWithNamespaceDisabled() throws InterruptedException, ExecutionException {
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
         IgniteCacheTestEntity entity = new IgniteCacheTestEntity();
-        RBatch rbatch = Mockito.mock(RBatch.class);
-        redisCache.setRBatch(rbatch);
+        RBatch rbatch = mockBatch(redisCache);
         RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
         Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
         Mockito.when(
@@ -635,6 +945,7 @@ public class IgniteCacheRedisImplUnitTest {
         req.withKey("hello").withValue(entity).withMutationId("mut001").withNamespaceEnabled(false);
         req.withTtlMs(THOUSAND_LONG);
         Future<String> ret = redisCache.putEntityAsync(req);
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
         Assert.assertTrue(ret.isDone());
         Assert.assertEquals("mut001", ret.get());
         Mockito.verify(rbucket).setAsync(entity, THOUSAND_LONG, TimeUnit.MILLISECONDS);
@@ -646,8 +957,7 @@ public class IgniteCacheRedisImplUnitTest {
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
         IgniteCacheTestEntity newEntity = new IgniteCacheTestEntity();
         IgniteCacheTestEntity oldEntity = new IgniteCacheTestEntity();
-        RBatch rbatch = Mockito.mock(RBatch.class);
-        redisCache.setRBatch(rbatch);
+        RBatch rbatch = mockBatch(redisCache);
         RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
         Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
         Mockito.when(
@@ -658,6 +968,7 @@ public class IgniteCacheRedisImplUnitTest {
         req.ifCurrentMatches(oldEntity);
         Future<String> ret = redisCache
                 .putEntityAsync(req);
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
         Assert.assertTrue(ret.isDone());
         Assert.assertEquals("mut001", ret.get());
         Mockito.verify(rbucket).compareAndSetAsync(oldEntity, newEntity);
@@ -667,8 +978,7 @@ public class IgniteCacheRedisImplUnitTest {
     public void testAddStringToScoredSortedSetAsyncWithNamespaceDisabled()
             throws InterruptedException, ExecutionException {
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
-        RBatch rbatch = Mockito.mock(RBatch.class);
-        redisCache.setRBatch(rbatch);
+        RBatch rbatch = mockBatch(redisCache);
         RScoredSortedSetAsync<Object> rsss = (RScoredSortedSetAsync<Object>) Mockito.mock(RScoredSortedSetAsync.class);
         Mockito.when(rbatch.getScoredSortedSet("presidents")).thenReturn(rsss);
         Mockito.when(rsss.addAsync(1D, "Abdul Kalam")).thenReturn(new CompletableFutureWrapper(true));
@@ -679,6 +989,7 @@ public class IgniteCacheRedisImplUnitTest {
                         .withValue("Abdul Kalam")
                         .withMutationId("8undu7")
                         .withNamespaceEnabled(false));
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
         Assert.assertTrue(ret.isDone());
         Assert.assertEquals("8undu7", ret.get());
         Mockito.verify(rsss).addAsync(1D, "Abdul Kalam");
@@ -689,8 +1000,7 @@ public class IgniteCacheRedisImplUnitTest {
             throws InterruptedException, ExecutionException {
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
         redisCache.setBatchSize(FIVE.getValue());
-        RBatch rbatch = Mockito.mock(RBatch.class);
-        redisCache.setRBatch(rbatch);
+        RBatch rbatch = mockBatch(redisCache);
         RScoredSortedSetAsync<Object> rsss = (RScoredSortedSetAsync<Object>) Mockito.mock(RScoredSortedSetAsync.class);
         Mockito.when(rbatch.getScoredSortedSet("entities")).thenReturn(rsss);
         RFuture<Boolean> rfuture = (RFuture<Boolean>) Mockito.mock(RFuture.class);
@@ -703,6 +1013,7 @@ public class IgniteCacheRedisImplUnitTest {
                         .withValue(entity)
                         .withMutationId("8undu7")
                         .withNamespaceEnabled(false));
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
         Assert.assertFalse(ret.isDone());
         Mockito.verify(rsss).addAsync(1D, entity);
     }
@@ -712,11 +1023,10 @@ public class IgniteCacheRedisImplUnitTest {
         IgniteCacheTestEntity entity = new IgniteCacheTestEntity();
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
         redisCache.setBatchSize(FIVE.getValue());
-        RBatch rbatch = Mockito.mock(RBatch.class);
+        RBatch rbatch = mockBatch(redisCache);
         RScoredSortedSetAsync<Object> rsss = (RScoredSortedSetAsync<Object>) Mockito.mock(RScoredSortedSetAsync.class);
         Mockito.when(rbatch.getScoredSortedSet("entities")).thenReturn(rsss);
         Mockito.when(rsss.addAsync(1D, entity)).thenReturn(new CompletableFutureWrapper(false));
-        redisCache.setRBatch(rbatch);
         Future<String> ret = redisCache.addEntityToScoredSortedSetAsync(
                 new AddScoredEntityRequest<IgniteCacheTestEntity>()
                         .withKey("entities")
@@ -724,7 +1034,7 @@ public class IgniteCacheRedisImplUnitTest {
                         .withValue(entity)
                         .withMutationId("8undu7")
                         .withNamespaceEnabled(false));
-        // Assert.assertTrue(ret.isDone());
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
         try {
             ret.get();
             Assert.fail("Expecting RuntimeException when testing completedExceptionally");
@@ -736,60 +1046,31 @@ public class IgniteCacheRedisImplUnitTest {
         Mockito.verify(rsss).addAsync(1D, entity);
     }
 
-    @Test
-    public void testAsyncBatchAlreadyExecutedWithNamespaceDisabled()
-            throws
-            InterruptedException,
-            ExecutionException {
-        IgniteCacheTestEntity entity = new IgniteCacheTestEntity();
-        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
-        redisCache.setBatchSize(FIVE.getValue());
-        RBatch rbatch = Mockito.mock(RBatch.class);
-        RScoredSortedSetAsync<Object> rsss = (RScoredSortedSetAsync<Object>) Mockito.mock(RScoredSortedSetAsync.class);
-        Mockito.when(rbatch.getScoredSortedSet("entities")).thenReturn(rsss);
-        Mockito.when(rsss.addAsync(1D, entity))
-                .thenThrow(new IllegalStateException("Batch already has been executed!"));
-        redisCache.setRBatch(rbatch);
-        try {
-            Future<String> ret = redisCache.addEntityToScoredSortedSetAsync(
-                    new AddScoredEntityRequest<IgniteCacheTestEntity>()
-                            .withKey("entities")
-                            .withScore(1D)
-                            .withValue(entity)
-                            .withMutationId("8undu7")
-                            .withNamespaceEnabled(false));
-            Assert.fail("Expecting RuntimeException when testing completedExceptionally");
-        } catch (Throwable re) {
-            Assert.assertEquals("Batch operation failed despite trying 5 times",
-                    re.getMessage());
-        }
-        Mockito.verify(rsss, Mockito.times(FIVE.getValue())).addAsync(1D, entity);
-    }
-
     @Test
     public void testAsyncBatchUnexpectedIllegalStateExceptionWithNamespaceDisabled()
-            throws InterruptedException, ExecutionException {
+            throws InterruptedException {
         IgniteCacheTestEntity entity = new IgniteCacheTestEntity();
         IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
         redisCache.setBatchSize(FIVE.getValue());
-        RBatch rbatch = Mockito.mock(RBatch.class);
+        RBatch rbatch = mockBatch(redisCache);
         RScoredSortedSetAsync<Object> rsss = (RScoredSortedSetAsync<Object>) Mockito.mock(RScoredSortedSetAsync.class);
         Mockito.when(rbatch.getScoredSortedSet("entities")).thenReturn(rsss);
         Mockito.when(rsss.addAsync(1D, entity))
                 .thenThrow(new IllegalStateException("This is something we are not expecting"));
-        redisCache.setRBatch(rbatch);
+        Future<String> ret = redisCache.addEntityToScoredSortedSetAsync(
+                new AddScoredEntityRequest<IgniteCacheTestEntity>()
+                        .withKey("entities")
+                        .withScore(1D)
+                        .withValue(entity)
+                        .withMutationId("8undu7")
+                        .withNamespaceEnabled(false));
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
         try {
-            Future<String> ret = redisCache.addEntityToScoredSortedSetAsync(
-                    new AddScoredEntityRequest<IgniteCacheTestEntity>()
-                            .withKey("entities")
-                            .withScore(1D)
-                            .withValue(entity)
-                            .withMutationId("8undu7")
-                            .withNamespaceEnabled(false));
-            Assert.fail("Expecting RuntimeException when testing completedExceptionally");
-        } catch (Throwable re) {
+            ret.get();
+            Assert.fail("Expecting ExecutionException when the operation cannot be added to the batch");
+        } catch (ExecutionException re) {
             Assert.assertEquals("This is something we are not expecting",
-                    re.getMessage());
+                    re.getCause().getMessage());
         }
         Mockito.verify(rsss).addAsync(1D, entity);
     }
@@ -843,6 +1124,444 @@ public class IgniteCacheRedisImplUnitTest {
         redisCache.deleteMapOfEntities(new DeleteMapOfEntitiesRequest());
     }
 
+    @Test
+    public void testBatchFlushedWhenPipelineSizeReached() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RBatch rbatch = mockBatch(redisCache);
+        redisCache.setBatchSize(TWO_INT);
+        RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
+        Mockito.when(rbucket.setAsync("world")).thenReturn(new CompletableFutureWrapper<Void>((Void) null));
+        redisCache.putStringAsync(new PutStringRequest().withKey("hello").withValue("world")
+                .withNamespaceEnabled(false));
+        Mockito.verify(rbatch, Mockito.never()).executeAsync();
+        redisCache.putStringAsync(new PutStringRequest().withKey("hello").withValue("world")
+                .withNamespaceEnabled(false));
+        Mockito.verify(rbatch).executeAsync();
+        Mockito.verify(rbucket, Mockito.times(TWO_INT)).setAsync("world");
+        Assert.assertEquals(1L, redisCache.getBatchFlushCount(BatchFlushReason.SIZE));
+        Assert.assertEquals(0L, redisCache.getBatchFlushCount(BatchFlushReason.TIME));
+    }
+
+    @Test
+    public void testLingeringBatchFlushedAfterLingerTime() throws InterruptedException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RBatch rbatch = mockBatch(redisCache);
+        redisCache.setLingerMs(1L);
+        RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
+        Mockito.when(rbucket.setAsync("world")).thenReturn(new CompletableFutureWrapper<Void>((Void) null));
+        redisCache.putStringAsync(new PutStringRequest().withKey("hello").withValue("world")
+                .withNamespaceEnabled(false));
+        Thread.sleep(FIVE.getValue());
+        ReflectionTestUtils.invokeMethod(ReflectionTestUtils.getField(redisCache, "pipeline"), "flushLingering");
+        Mockito.verify(rbatch).executeAsync();
+        Assert.assertEquals(0L, redisCache.getBatchFlushCount(BatchFlushReason.SIZE));
+        Assert.assertEquals(1L, redisCache.getBatchFlushCount(BatchFlushReason.TIME));
+        // nothing left to flush
+        ReflectionTestUtils.invokeMethod(ReflectionTestUtils.getField(redisCache, "pipeline"), "flushLingering");
+        Assert.assertEquals(1L, redisCache.getBatchFlushCount(BatchFlushReason.TIME));
+    }
+
+    @Test
+    public void testAsyncReadCompletesWithDefaultPipelineConfig() throws Exception {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RBatch rbatch = mockBatch(redisCache);
+        RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
+        Mockito.when(rbucket.getAsync()).thenReturn(new CompletableFutureWrapper<Object>("world"));
+        Object pipeline = ReflectionTestUtils.getField(redisCache, "pipeline");
+        ReflectionTestUtils.invokeMethod(pipeline, "start");
+
+        CompletableFuture<String> value = redisCache.getStringAsync(
+                new GetStringRequest().withKey("hello").withNamespaceEnabled(false));
+        Assert.assertEquals("world", value.get(THOUSAND_LONG, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(1L, redisCache.getBatchFlushCount(BatchFlushReason.TIME));
+        ReflectionTestUtils.invokeMethod(pipeline, "shutdown", THOUSAND_LONG);
+    }
+
+    @Test
+    public void testConcurrentProducersNeverFailBatchOperation() throws InterruptedException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RBatch rbatch = mockBatch(redisCache);
+        redisCache.setBatchSize(FIVE.getValue());
+        RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
+        Mockito.when(rbucket.setAsync("world")).thenReturn(new CompletableFutureWrapper<Void>((Void) null));
+        List<Future<String>> futures = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < TEN_INT; i++) {
+            Thread producer = new Thread(() -> {
+                for (int j = 0; j < HUNDRED_INT; j++) {
+                    futures.add(redisCache.putStringAsync(new PutStringRequest().withKey("hello").withValue("world")
+                            .withMutationId("mut001").withNamespaceEnabled(false)));
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
+        Assert.assertEquals(TEN_INT * HUNDRED_INT, futures.size());
+        for (Future<String> f : futures) {
+            Assert.assertTrue(f.isDone());
+        }
+        Mockito.verify(rbucket, Mockito.times(TEN_INT * HUNDRED_INT)).setAsync("world");
+    }
+
+    @Test
+    public void testGetStringAsyncWithNamespaceDisabled() throws InterruptedException, ExecutionException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RBatch rbatch = mockBatch(redisCache);
+        RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
+        Mockito.when(rbucket.getAsync()).thenReturn(new CompletableFutureWrapper<Object>("world"));
+        CompletableFuture<String> ret = redisCache.getStringAsync(
+                new GetStringRequest().withKey("hello").withNamespaceEnabled(false));
+        Assert.assertFalse(ret.isDone());
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
+        Assert.assertEquals("world", ret.get());
+    }
+
+    @Test
+    public void testGetEntityAsyncWithNamespaceDisabled() throws InterruptedException, ExecutionException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RBatch rbatch = mockBatch(redisCache);
+        RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
+        IgniteCacheTestEntity entity = new IgniteCacheTestEntity();
+        Mockito.when(rbucket.getAsync()).thenReturn(new CompletableFutureWrapper<Object>(entity));
+        CompletableFuture<IgniteCacheTestEntity> ret = redisCache.getEntityAsync(
+                new GetEntityRequest().withKey("hello").withNamespaceEnabled(false));
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
+        Assert.assertSame(entity, ret.get());
+    }
+
+    @Test
+    public void testConcurrentReadsOfSameKeyShareOneRequest() throws Exception {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        redisCache.setSingleFlightEnabled(true);
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RBucket<Object> rbucket = (RBucket<Object>) Mockito.mock(RBucket.class);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(rbucket.get()).thenAnswer(invocation -> {
+            release.await();
+            return "world";
+        });
+        Mockito.when(redisson.getBucket("hello")).thenReturn(rbucket);
+        redisCache.setRedissonClient(redisson);
+        ExecutorService executor = Executors.newFixedThreadPool(TWO_INT);
+        try {
+            Callable<String> read = () -> redisCache.getString(
+                    new GetStringRequest().withKey("hello").withNamespaceEnabled(false));
+            Future<String> first = executor.submit(read);
+            Future<String> second = executor.submit(read);
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TEN_INT);
+            while (redisCache.getSharedReadCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            Assert.assertEquals("world", first.get(TEN_INT, TimeUnit.SECONDS));
+            Assert.assertEquals("world", second.get(TEN_INT, TimeUnit.SECONDS));
+            Assert.assertEquals(1, redisCache.getSharedReadCount());
+            Mockito.verify(rbucket, Mockito.times(1)).get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentAsyncReadsOfSameKeyShareOneRequest() throws InterruptedException, ExecutionException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        redisCache.setSingleFlightEnabled(true);
+        RBatch rbatch = mockBatch(redisCache);
+        RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
+        Mockito.when(rbucket.getAsync()).thenReturn(new CompletableFutureWrapper<Object>("world"));
+        CompletableFuture<String> first = redisCache.getStringAsync(
+                new GetStringRequest().withKey("hello").withNamespaceEnabled(false));
+        CompletableFuture<String> second = redisCache.getStringAsync(
+                new GetStringRequest().withKey("hello").withNamespaceEnabled(false));
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
+        Assert.assertEquals("world", first.get());
+        Assert.assertEquals("world", second.get());
+        Mockito.verify(rbucket, Mockito.times(1)).getAsync();
+    }
+
+    @Test
+    public void testPerKeyOrderingExecutesNextBatchOnlyAfterPreviousIsAcknowledged() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        redisCache.setPerKeyOrderingEnabled(true);
+        redisCache.setBatchSize(1);
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RBatch rbatch = Mockito.mock(RBatch.class);
+        CompletableFuture<BatchResult<?>> firstBatch = new CompletableFuture<>();
+        Mockito.when(rbatch.executeAsync()).thenReturn(new CompletableFutureWrapper<BatchResult<?>>(firstBatch),
+                new CompletableFutureWrapper<BatchResult<?>>(new BatchResult<Object>(new ArrayList<>(), 0)));
+        Mockito.when(redisson.createBatch()).thenReturn(rbatch);
+        redisCache.setRedissonClient(redisson);
+        RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucket);
+        Mockito.when(rbucket.setAsync(Mockito.any())).thenReturn(new CompletableFutureWrapper<Void>((Void) null));
+        redisCache.putStringAsync(new PutStringRequest().withKey("hello").withValue("v1")
+                .withNamespaceEnabled(false));
+        redisCache.putStringAsync(new PutStringRequest().withKey("hello").withValue("v2")
+                .withNamespaceEnabled(false));
+        Mockito.verify(rbatch, Mockito.times(1)).executeAsync();
+        Mockito.verify(rbucket, Mockito.never()).setAsync("v2");
+        firstBatch.complete(new BatchResult<Object>(new ArrayList<>(), 0));
+        Mockito.verify(rbatch, Mockito.times(TWO_INT)).executeAsync();
+        InOrder inOrder = Mockito.inOrder(rbucket);
+        inOrder.verify(rbucket).setAsync("v1");
+        inOrder.verify(rbucket).setAsync("v2");
+    }
+
+    @Test
+    public void testGetStringsReturnsExistingKeysOnly() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RBuckets rbuckets = Mockito.mock(RBuckets.class);
+        Mockito.when(redisson.getBuckets()).thenReturn(rbuckets);
+        Mockito.when(rbuckets.<String>get("k1", "k2")).thenReturn(Map.of("k1", "v1"));
+        redisCache.setRedissonClient(redisson);
+        Map<String, String> values = redisCache.getStrings(List.of(
+                new GetStringRequest().withKey("k1").withNamespaceEnabled(false),
+                new GetStringRequest().withKey("k2").withNamespaceEnabled(false)));
+        Assert.assertEquals(Map.of("k1", "v1"), values);
+    }
+
+    @Test
+    public void testPutStringsWithoutTtlUsesMset() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RBuckets rbuckets = Mockito.mock(RBuckets.class);
+        Mockito.when(redisson.getBuckets()).thenReturn(rbuckets);
+        redisCache.setRedissonClient(redisson);
+        redisCache.putStrings(List.of(
+                new PutStringRequest().withKey("k1").withValue("v1").withNamespaceEnabled(false),
+                new PutStringRequest().withKey("k2").withValue("v2").withNamespaceEnabled(false)));
+        Mockito.verify(rbuckets).set(Map.of("k1", "v1", "k2", "v2"));
+        Mockito.verify(redisson, Mockito.never()).createBatch();
+    }
+
+    @Test
+    public void testPutStringsWithTtlUsesPipelinedSet() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RBatch rbatch = Mockito.mock(RBatch.class);
+        Mockito.when(redisson.createBatch()).thenReturn(rbatch);
+        RBucketAsync<Object> first = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        RBucketAsync<Object> second = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("k1")).thenReturn(first);
+        Mockito.when(rbatch.getBucket("k2")).thenReturn(second);
+        redisCache.setRedissonClient(redisson);
+        redisCache.putStrings(List.of(
+                new PutStringRequest().withKey("k1").withValue("v1").withTtlMs(TEN_INT).withNamespaceEnabled(false),
+                new PutStringRequest().withKey("k2").withValue("v2").withNamespaceEnabled(false)));
+        Mockito.verify(first).setAsync("v1", TEN_INT, TimeUnit.MILLISECONDS);
+        Mockito.verify(second).setAsync("v2");
+        Mockito.verify(rbatch).execute();
+    }
+
+    @Test
+    public void testNearCacheServesRepeatedReadsUntilWrite() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RBatch rbatch = mockBatch(redisCache);
+        RedissonClient redisson = (RedissonClient) ReflectionTestUtils.getField(redisCache, "redissonClient");
+        RTopic rtopic = Mockito.mock(RTopic.class);
+        Mockito.when(redisson.getTopic(Mockito.anyString(), Mockito.any(Codec.class))).thenReturn(rtopic);
+        RBucketAsync<Object> rbucketAsync = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("hello")).thenReturn(rbucketAsync);
+        Mockito.when(rbucketAsync.getAsync()).thenReturn(new CompletableFutureWrapper<Object>("world"));
+        Mockito.when(rbucketAsync.remainTimeToLiveAsync()).thenReturn(new CompletableFutureWrapper<Long>(-1L));
+        RBucket<Object> rbucket = (RBucket<Object>) Mockito.mock(RBucket.class);
+        Mockito.when(redisson.getBucket("hello")).thenReturn(rbucket);
+        redisCache.setNearCacheEnabled(true);
+
+        Assert.assertEquals("world", redisCache.getString("hello"));
+        Assert.assertEquals("world", redisCache.getString("hello"));
+        Mockito.verify(rbucketAsync, Mockito.times(1)).getAsync();
+        Assert.assertEquals(1L, redisCache.getNearCacheHitCount());
+
+        redisCache.putString(new PutStringRequest().withKey("hello").withValue("again").withNamespaceEnabled(false));
+        Mockito.verify(rtopic).publishAsync("hello");
+        redisCache.getString("hello");
+        Mockito.verify(rbucketAsync, Mockito.times(TWO_INT)).getAsync();
+    }
+
+    @Test
+    public void testNearCacheSubscribesToKeyspaceNotificationsOfNamespace() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RPatternTopic rtopic = Mockito.mock(RPatternTopic.class);
+        Mockito.when(redisson.getPatternTopic(Mockito.anyString(), Mockito.any(Codec.class))).thenReturn(rtopic);
+        redisCache.setRedissonClient(redisson);
+        ReflectionTestUtils.setField(redisCache, "redisKeyNamespace", "ns");
+        redisCache.setNearCacheInvalidation(NearCacheInvalidation.KEYSPACE);
+        redisCache.setNearCacheEnabled(true);
+        Mockito.verify(redisson).getPatternTopic(Mockito.eq("__keyspace@*__:ns:*"), Mockito.any(Codec.class));
+        Mockito.verify(redisson, Mockito.never()).getTopic(Mockito.anyString(), Mockito.any(Codec.class));
+    }
+
+    @Test
+    public void testGetMapOfEntitiesWithLocalCachedPrefix() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RLocalCachedMap<Object, Object> rmap = (RLocalCachedMap<Object, Object>) Mockito.mock(RLocalCachedMap.class);
+        Mockito.when(redisson.getLocalCachedMap(Mockito.any())).thenReturn(rmap);
+        IgniteCacheTestEntity entity = new IgniteCacheTestEntity();
+        Set<Object> fields = Collections.singleton("field");
+        Mockito.when(rmap.getAll(fields)).thenReturn(Collections.singletonMap("field", entity));
+        redisCache.setRedissonClient(redisson);
+        redisCache.setLocalCachedMapPrefixes("vehicle:");
+
+        GetMapOfEntitiesRequest request = new GetMapOfEntitiesRequest();
+        request.withFields(Collections.singleton("field"));
+        request.withKey("vehicle:1");
+        Assert.assertSame(entity, redisCache.getMapOfEntities(request).get("field"));
+        request.withKey("vehicle:1");
+        redisCache.getMapOfEntities(request);
+        Mockito.verify(redisson, Mockito.times(1)).getLocalCachedMap(Mockito.any());
+        Mockito.verify(redisson, Mockito.never()).getMap(Mockito.anyString());
+
+        DeleteMapOfEntitiesRequest deleteRequest = new DeleteMapOfEntitiesRequest();
+        deleteRequest.withKey("vehicle:1");
+        redisCache.deleteMapOfEntities(deleteRequest);
+        Mockito.verify(rmap).delete();
+        redisCache.setUnlinkEnabled(true);
+        deleteRequest.withKey("vehicle:1");
+        redisCache.deleteMapOfEntities(deleteRequest);
+        Mockito.verify(rmap).unlink();
+        Mockito.verify(rmap, Mockito.times(1)).delete();
+        redisCache.setLocalCachedMapPrefixes();
+        Mockito.verify(rmap).destroy();
+    }
+
+    @Test
+    public void testNearCacheOffHeapDecodesEntityOnEveryHit() throws IOException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RBatch rbatch = mockBatch(redisCache);
+        RedissonClient redisson = (RedissonClient) ReflectionTestUtils.getField(redisCache, "redissonClient");
+        Mockito.when(redisson.getTopic(Mockito.anyString(), Mockito.any(Codec.class)))
+                .thenReturn(Mockito.mock(RTopic.class));
+        byte[] payload = "{}".getBytes(StandardCharsets.UTF_8);
+        RBucketAsync<Object> rbucket = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("hello", ByteArrayCodec.INSTANCE)).thenReturn(rbucket);
+        Mockito.when(rbucket.getAsync()).thenReturn(new CompletableFutureWrapper<Object>(payload));
+        Mockito.when(rbucket.remainTimeToLiveAsync()).thenReturn(new CompletableFutureWrapper<Long>(-1L));
+        Decoder<Object> decoder = Mockito.mock(Decoder.class);
+        Mockito.when(decoder.decode(Mockito.any(), Mockito.any()))
+                .thenReturn(new IgniteCacheTestEntity(), new IgniteCacheTestEntity());
+        Codec codec = Mockito.mock(Codec.class);
+        Mockito.when(codec.getValueDecoder()).thenReturn(decoder);
+        Config config = Mockito.mock(Config.class);
+        Mockito.when(config.getCodec()).thenReturn(codec);
+        Mockito.when(redisson.getConfig()).thenReturn(config);
+        Decoder<Object> scanDecoder = Mockito.mock(Decoder.class);
+        ReflectionTestUtils.setField(redisCache, "decoder", scanDecoder);
+        redisCache.setNearCacheOffHeapCapacityBytes(THOUSAND_LONG * THOUSAND_LONG);
+        redisCache.setNearCacheEnabled(true);
+
+        IgniteCacheTestEntity first = redisCache.getEntity("hello");
+        IgniteCacheTestEntity second = redisCache.getEntity("hello");
+        Assert.assertNotNull(first);
+        Assert.assertNotSame(first, second);
+        Mockito.verify(rbucket, Mockito.times(1)).getAsync();
+        Mockito.verify(decoder, Mockito.times(TWO_INT)).decode(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(scanDecoder);
+        Assert.assertEquals(1L, redisCache.getNearCacheHitCount());
+    }
+
+    @Test
+    public void testNegativeCacheSkipsReadsOfAbsentKeyUntilPut() throws InterruptedException, ExecutionException {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RBatch rbatch = mockBatch(redisCache);
+        RedissonClient redisson = (RedissonClient) ReflectionTestUtils.getField(redisCache, "redissonClient");
+        Mockito.when(redisson.getTopic(Mockito.anyString(), Mockito.any(Codec.class)))
+                .thenReturn(Mockito.mock(RTopic.class));
+        RBucket<Object> rbucket = (RBucket<Object>) Mockito.mock(RBucket.class);
+        Mockito.when(redisson.getBucket("hello")).thenReturn(rbucket);
+        RBucketAsync<Object> rbucketAsync = (RBucketAsync<Object>) Mockito.mock(RBucketAsync.class);
+        Mockito.when(rbatch.getBucket("other")).thenReturn(rbucketAsync);
+        Mockito.when(rbucketAsync.getAsync()).thenReturn(new CompletableFutureWrapper<Object>((Object) null));
+        redisCache.setNegativeCacheTtlMs(THOUSAND_LONG * THOUSAND_LONG);
+
+        Assert.assertNull(redisCache.getString("hello"));
+        Assert.assertNull(redisCache.getString("hello"));
+        Mockito.verify(rbucket, Mockito.times(1)).get();
+        Assert.assertEquals(1L, redisCache.getNegativeCacheHitCount());
+
+        redisCache.putString(new PutStringRequest().withKey("hello").withValue("world").withNamespaceEnabled(false));
+        Mockito.when(rbucket.get()).thenReturn("world");
+        Assert.assertEquals("world", redisCache.getString("hello"));
+
+        GetStringRequest request = new GetStringRequest().withKey("other").withNamespaceEnabled(false);
+        CompletableFuture<String> miss = redisCache.getStringAsync(request);
+        redisCache.flushPendingOperations(BatchFlushReason.TIME);
+        Assert.assertNull(miss.get());
+        CompletableFuture<String> skipped = redisCache.getStringAsync(
+                new GetStringRequest().withKey("other").withNamespaceEnabled(false));
+        Assert.assertTrue(skipped.isDone());
+        Assert.assertNull(skipped.get());
+        Mockito.verify(rbucketAsync, Mockito.times(1)).getAsync();
+    }
+
+    @Test
+    public void testNegativeCacheForgetsKeysWrittenByOtherInstances() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RTopic rtopic = Mockito.mock(RTopic.class);
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        Mockito.when(rtopic.addListener(Mockito.eq(String.class), listener.capture())).thenReturn(1);
+        Mockito.when(redisson.getTopic(Mockito.anyString(), Mockito.any(Codec.class))).thenReturn(rtopic);
+        RBucket<Object> rbucket = (RBucket<Object>) Mockito.mock(RBucket.class);
+        Mockito.when(redisson.getBucket("hello")).thenReturn(rbucket);
+        redisCache.setRedissonClient(redisson);
+        redisCache.setNegativeCacheTtlMs(THOUSAND_LONG * THOUSAND_LONG);
+
+        Assert.assertNull(redisCache.getString("hello"));
+        Assert.assertNull(redisCache.getString("hello"));
+        Mockito.verify(rbucket, Mockito.times(1)).get();
+
+        listener.getValue().onMessage("channel", "hello");
+        Mockito.when(rbucket.get()).thenReturn("world");
+        Assert.assertEquals("world", redisCache.getString("hello"));
+
+        redisCache.setNegativeCacheTtlMs(0L);
+        Mockito.verify(rtopic).removeListener(1);
+    }
+
+    @Test
+    public void testWritesPublishInvalidationsWithNearCacheDisabled() {
+        IgniteCacheRedisImpl redisCache = new IgniteCacheRedisImpl();
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RTopic rtopic = Mockito.mock(RTopic.class);
+        Mockito.when(redisson.getTopic(Mockito.eq("invalidations"), Mockito.any(Codec.class))).thenReturn(rtopic);
+        RBucket<Object> rbucket = (RBucket<Object>) Mockito.mock(RBucket.class);
+        Mockito.when(redisson.getBucket("hello")).thenReturn(rbucket);
+        redisCache.setRedissonClient(redisson);
+        redisCache.putString(new PutStringRequest().withKey("hello").withValue("world").withNamespaceEnabled(false));
+        Mockito.verify(rtopic, Mockito.never()).publishAsync(Mockito.any());
+
+        redisCache.setNearCacheInvalidationTopic("invalidations");
+        redisCache.putString(new PutStringRequest().withKey("hello").withValue("world").withNamespaceEnabled(false));
+        redisCache.delete("hello");
+        Mockito.verify(rtopic, Mockito.times(TWO_INT)).publishAsync("hello");
+        Mockito.verify(rtopic, Mockito.never()).addListener(Mockito.any(), Mockito.any());
+    }
+
+    private RBatch mockBatch(IgniteCacheRedisImpl redisCache) {
+        RedissonClient redisson = Mockito.mock(RedissonClient.class);
+        RBatch rbatch = Mockito.mock(RBatch.class);
+        Mockito.when(rbatch.executeAsync()).thenReturn(
+                new CompletableFutureWrapper<BatchResult<?>>(new BatchResult<Object>(new ArrayList<>(), 0)));
+        Mockito.when(redisson.createBatch()).thenReturn(rbatch);
+        redisCache.setRedissonClient(redisson);
+        return rbatch;
+    }
+
     /**
      * Test entity for testing.
      */
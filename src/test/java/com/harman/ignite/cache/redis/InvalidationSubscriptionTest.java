@@ -0,0 +1,89 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.redisson.api.RPatternTopic;
+import org.redisson.api.RTopic;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.api.listener.PatternMessageListener;
+import org.redisson.api.listener.PatternStatusListener;
+import org.redisson.api.listener.StatusListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit test class for InvalidationSubscription.
+ */
+public class InvalidationSubscriptionTest {
+
+    @Test
+    public void testTopicMessagesInvalidate() {
+        RTopic topic = Mockito.mock(RTopic.class);
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        ArgumentCaptor<StatusListener> status = ArgumentCaptor.forClass(StatusListener.class);
+        Mockito.when(topic.addListener(Mockito.eq(String.class), listener.capture())).thenReturn(1);
+        Mockito.when(topic.addListener(status.capture())).thenReturn(2);
+        List<String> invalidated = new ArrayList<>();
+        AtomicInteger resubscribed = new AtomicInteger();
+        InvalidationSubscription subscription =
+                new InvalidationSubscription(invalidated::add, resubscribed::incrementAndGet);
+        subscription.subscribe(topic);
+
+        listener.getValue().onMessage("channel", "hello");
+        Assert.assertEquals(List.of("hello"), invalidated);
+
+        // invalidations published while the topic was not subscribed are lost
+        status.getValue().onUnsubscribe("channel");
+        Assert.assertEquals(0, resubscribed.get());
+        status.getValue().onSubscribe("channel");
+        Assert.assertEquals(1, resubscribed.get());
+
+        subscription.unsubscribe();
+        Mockito.verify(topic).removeListener(1);
+        Mockito.verify(topic).removeListener(2);
+    }
+
+    @Test
+    public void testKeyspaceNotificationsInvalidate() {
+        RPatternTopic topic = Mockito.mock(RPatternTopic.class);
+        ArgumentCaptor<PatternMessageListener> listener = ArgumentCaptor.forClass(PatternMessageListener.class);
+        ArgumentCaptor<PatternStatusListener> status = ArgumentCaptor.forClass(PatternStatusListener.class);
+        Mockito.when(topic.addListener(Mockito.eq(String.class), listener.capture())).thenReturn(1);
+        Mockito.when(topic.addListener(status.capture())).thenReturn(2);
+        List<String> invalidated = new ArrayList<>();
+        AtomicInteger resubscribed = new AtomicInteger();
+        InvalidationSubscription subscription =
+                new InvalidationSubscription(invalidated::add, resubscribed::incrementAndGet);
+        subscription.subscribe(topic);
+
+        listener.getValue().onMessage("__keyspace@*__:ns:*", "__keyspace@0__:ns:hello", "set");
+        Assert.assertEquals(List.of("ns:hello"), invalidated);
+
+        status.getValue().onPSubscribe("__keyspace@*__:ns:*");
+        Assert.assertEquals(1, resubscribed.get());
+
+        subscription.unsubscribe();
+        Mockito.verify(topic).removeListener(1);
+        Mockito.verify(topic).removeListener(2);
+    }
+}
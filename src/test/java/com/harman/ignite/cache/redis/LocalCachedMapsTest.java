@@ -0,0 +1,110 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.redisson.api.RLocalCachedMap;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test class for LocalCachedMaps.
+ */
+public class LocalCachedMapsTest {
+
+    private static final int MAX_MAPS = 2;
+    private static final long WAIT_MS = 2000L;
+
+    private final Map<String, RLocalCachedMap<String, Object>> opened = new ConcurrentHashMap<>();
+
+    private RLocalCachedMap<String, Object> open(String key) {
+        RLocalCachedMap<String, Object> map = (RLocalCachedMap<String, Object>) Mockito.mock(RLocalCachedMap.class);
+        opened.put(key, map);
+        return map;
+    }
+
+    @Test
+    public void testIsLocalCachedByPrefix() {
+        LocalCachedMaps maps = new LocalCachedMaps(new String[] {"vehicle:", " device: ", ""}, MAX_MAPS, this::open);
+        Assert.assertTrue(maps.isLocalCached("vehicle:123"));
+        Assert.assertTrue(maps.isLocalCached("device:123"));
+        Assert.assertFalse(maps.isLocalCached("user:123"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedMapDestroyed() {
+        LocalCachedMaps maps = new LocalCachedMaps(new String[] {"vehicle:"}, MAX_MAPS, this::open);
+        RLocalCachedMap<String, Object> first = maps.use("vehicle:1", map -> map);
+        maps.use("vehicle:2", map -> map);
+        Assert.assertSame(first, maps.use("vehicle:1", map -> map));
+        maps.use("vehicle:3", map -> map);
+        Assert.assertEquals(MAX_MAPS, maps.size());
+        Mockito.verify(opened.get("vehicle:2")).destroy();
+        Mockito.verify(first, Mockito.never()).destroy();
+
+        maps.close();
+        Mockito.verify(first).destroy();
+        Mockito.verify(opened.get("vehicle:3")).destroy();
+        Assert.assertEquals(0, maps.size());
+    }
+
+    @Test
+    public void testMapEvictedWhileInUseDestroyedAfterUse() {
+        LocalCachedMaps maps = new LocalCachedMaps(new String[] {"vehicle:"}, MAX_MAPS, this::open);
+        CompletableFuture<Object> read = new CompletableFuture<>();
+        CompletableFuture<Object> result = maps.<Object, Object>useAsync("vehicle:1", map -> read);
+        maps.use("vehicle:2", map -> map);
+        maps.use("vehicle:3", map -> map);
+        // vehicle:1 is the least recently used map and is evicted, but its read is still running
+        Assert.assertEquals(MAX_MAPS, maps.size());
+        Mockito.verify(opened.get("vehicle:1"), Mockito.never()).destroy();
+        read.complete("value");
+        Assert.assertEquals("value", result.join());
+        Mockito.verify(opened.get("vehicle:1")).destroy();
+    }
+
+    @Test
+    public void testMapOpenedWhileAnotherMapIsOpening() throws Exception {
+        CountDownLatch opening = new CountDownLatch(1);
+        CountDownLatch subscribed = new CountDownLatch(1);
+        LocalCachedMaps maps = new LocalCachedMaps(new String[] {"vehicle:"}, MAX_MAPS, key -> {
+            if (key.equals("vehicle:1")) {
+                // a slow Pub/Sub subscription
+                opening.countDown();
+                try {
+                    subscribed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return open(key);
+        });
+        CompletableFuture<RLocalCachedMap<String, Object>> slow =
+                CompletableFuture.supplyAsync(() -> maps.use("vehicle:1", map -> map));
+        Assert.assertTrue(opening.await(WAIT_MS, TimeUnit.MILLISECONDS));
+        RLocalCachedMap<String, Object> other = maps.use("vehicle:2", map -> map);
+        Assert.assertSame(opened.get("vehicle:2"), other);
+        subscribed.countDown();
+        Assert.assertSame(opened.get("vehicle:1"), slow.get(WAIT_MS, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.redisson.api.RPatternTopic;
+import org.redisson.api.listener.PatternMessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Unit test class for NearCache.
+ */
+public class NearCacheTest {
+
+    private static final int MAX_SIZE = 10;
+    private static final long MAX_TTL_MS = 60000L;
+    private static final long SHORT_TTL_MS = 20L;
+    private static final long EXPIRY_WAIT_MS = 100L;
+    private static final long KEY_MISSING = -2L;
+    private static final long OFF_HEAP_CAPACITY = 65536L;
+    private static final int SLAB_SIZE = 4096;
+
+    @Test
+    public void testPutAndGet() {
+        NearCache cache = new NearCache(MAX_SIZE, MAX_TTL_MS);
+        cache.put("hello", "world", -1L, cache.stamp("hello"));
+        Assert.assertEquals("world", cache.get("hello"));
+        Assert.assertNull(cache.get("other"));
+        Assert.assertEquals(1L, cache.getHitCount());
+        Assert.assertEquals(1L, cache.getMissCount());
+    }
+
+    @Test
+    public void testMissingOrNullValuesNotCached() {
+        NearCache cache = new NearCache(MAX_SIZE, MAX_TTL_MS);
+        cache.put("hello", null, -1L, cache.stamp("hello"));
+        cache.put("other", "world", KEY_MISSING, cache.stamp("other"));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEntryExpiresWithRedisTtl() throws InterruptedException {
+        NearCache cache = new NearCache(MAX_SIZE, MAX_TTL_MS);
+        cache.put("hello", "world", SHORT_TTL_MS, cache.stamp("hello"));
+        Thread.sleep(EXPIRY_WAIT_MS);
+        Assert.assertNull(cache.get("hello"));
+    }
+
+    @Test
+    public void testEntryExpiresWithMaxTtl() throws InterruptedException {
+        NearCache cache = new NearCache(MAX_SIZE, SHORT_TTL_MS);
+        cache.put("hello", "world", -1L, cache.stamp("hello"));
+        Thread.sleep(EXPIRY_WAIT_MS);
+        Assert.assertNull(cache.get("hello"));
+    }
+
+    @Test
+    public void testValueReadBeforeInvalidationNotCached() {
+        NearCache cache = new NearCache(MAX_SIZE, MAX_TTL_MS);
+        long stamp = cache.stamp("hello");
+        cache.invalidateLocally("hello");
+        cache.put("hello", "stale", -1L, stamp);
+        Assert.assertNull(cache.get("hello"));
+    }
+
+    @Test
+    public void testSerializedValuesCachedOffHeap() {
+        NearCache cache = new NearCache(MAX_SIZE, MAX_TTL_MS, new OffHeapStore(OFF_HEAP_CAPACITY, SLAB_SIZE));
+        Assert.assertTrue(cache.isOffHeap());
+        byte[] value = "world".getBytes(StandardCharsets.UTF_8);
+        cache.putBytes("hello", value, -1L, cache.stamp("hello"));
+        Assert.assertArrayEquals(value, cache.getBytes("hello"));
+        Assert.assertEquals(0, cache.size());
+
+        long stamp = cache.stamp("hello");
+        cache.invalidateLocally("hello");
+        Assert.assertNull(cache.getBytes("hello"));
+        cache.putBytes("hello", value, -1L, stamp);
+        Assert.assertNull(cache.getBytes("hello"));
+        Assert.assertEquals(1L, cache.getHitCount());
+    }
+
+    @Test
+    public void testInvalidationOfOtherKeyDoesNotPreventFill() {
+        NearCache cache = new NearCache(MAX_SIZE, MAX_TTL_MS);
+        long stamp = cache.stamp("hello");
+        int invalidated = 0;
+        for (int i = 0; i < InvalidationStamps.STRIPES; i++) {
+            String other = "other" + i;
+            if (InvalidationStamps.stripe(other) != InvalidationStamps.stripe("hello")) {
+                cache.invalidateLocally(other);
+                invalidated++;
+            }
+        }
+        Assert.assertTrue(invalidated > 0);
+        cache.put("hello", "world", -1L, stamp);
+        Assert.assertEquals("world", cache.get("hello"));
+    }
+
+    @Test
+    public void testKeyspaceEventsOfOtherKeysDoNotPreventFill() {
+        RPatternTopic topic = Mockito.mock(RPatternTopic.class);
+        ArgumentCaptor<PatternMessageListener> listener = ArgumentCaptor.forClass(PatternMessageListener.class);
+        Mockito.when(topic.addListener(Mockito.eq(String.class), listener.capture())).thenReturn(1);
+        NearCache cache = new NearCache(MAX_SIZE, MAX_TTL_MS);
+        new InvalidationSubscription(cache::invalidateLocally, cache::invalidateAllLocally).subscribe(topic);
+        long stamp = cache.stamp("ns:hello");
+        for (int i = 0; i < InvalidationStamps.STRIPES; i++) {
+            String other = "ns:other" + i;
+            if (InvalidationStamps.stripe(other) != InvalidationStamps.stripe("ns:hello")) {
+                listener.getValue().onMessage("__keyspace@*__:ns:*", "__keyspace@0__:" + other, "set");
+            }
+        }
+        cache.put("ns:hello", "world", -1L, stamp);
+        Assert.assertEquals("world", cache.get("ns:hello"));
+
+        stamp = cache.stamp("ns:hello");
+        listener.getValue().onMessage("__keyspace@*__:ns:*", "__keyspace@0__:ns:hello", "set");
+        cache.put("ns:hello", "stale", -1L, stamp);
+        Assert.assertNull(cache.get("ns:hello"));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test class for NegativeCache.
+ */
+public class NegativeCacheTest {
+
+    private static final int MAX_SIZE = 10;
+    private static final long TTL_MS = 60000L;
+    private static final long SHORT_TTL_MS = 20L;
+    private static final long EXPIRY_WAIT_MS = 100L;
+
+    @Test
+    public void testAbsentKeyRememberedUntilInvalidated() {
+        NegativeCache cache = new NegativeCache(MAX_SIZE, TTL_MS);
+        Assert.assertFalse(cache.isAbsent("hello"));
+        cache.putAbsent("hello", cache.stamp("hello"));
+        Assert.assertTrue(cache.isAbsent("hello"));
+        Assert.assertEquals(1L, cache.getHitCount());
+        cache.invalidate("hello");
+        Assert.assertFalse(cache.isAbsent("hello"));
+    }
+
+    @Test
+    public void testAbsentKeyExpires() throws InterruptedException {
+        NegativeCache cache = new NegativeCache(MAX_SIZE, SHORT_TTL_MS);
+        cache.putAbsent("hello", cache.stamp("hello"));
+        Thread.sleep(EXPIRY_WAIT_MS);
+        Assert.assertFalse(cache.isAbsent("hello"));
+    }
+
+    @Test
+    public void testMissReadBeforeInvalidationNotRemembered() {
+        NegativeCache cache = new NegativeCache(MAX_SIZE, TTL_MS);
+        long stamp = cache.stamp("hello");
+        cache.invalidate("hello");
+        cache.putAbsent("hello", stamp);
+        Assert.assertFalse(cache.isAbsent("hello"));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidationOfOtherKeyDoesNotPreventRemembering() {
+        NegativeCache cache = new NegativeCache(MAX_SIZE, TTL_MS);
+        long stamp = cache.stamp("hello");
+        for (int i = 0; i < InvalidationStamps.STRIPES; i++) {
+            String other = "other" + i;
+            if (InvalidationStamps.stripe(other) != InvalidationStamps.stripe("hello")) {
+                cache.invalidate(other);
+            }
+        }
+        cache.putAbsent("hello", stamp);
+        Assert.assertTrue(cache.isAbsent("hello"));
+    }
+
+    @Test
+    public void testInvalidateAllForgetsAbsentKeys() {
+        NegativeCache cache = new NegativeCache(MAX_SIZE, TTL_MS);
+        long stamp = cache.stamp("hello");
+        cache.putAbsent("other", cache.stamp("other"));
+        cache.invalidateAll();
+        Assert.assertEquals(0, cache.size());
+        cache.putAbsent("hello", stamp);
+        Assert.assertFalse(cache.isAbsent("hello"));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+package com.harman.ignite.cache.redis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit test class for OffHeapStore.
+ */
+public class OffHeapStoreTest {
+
+    private static final int SLAB_SIZE = 256;
+    private static final long TTL_MS = 60000L;
+    private static final long SHORT_TTL_MS = 20L;
+    private static final long EXPIRY_WAIT_MS = 100L;
+    private static final int SMALL = 10;
+    private static final int LARGE = 200;
+    private static final long TWO_SLABS = 2L * SLAB_SIZE;
+    private static final long IDLE_MS = 50L;
+    private static final int THREADS = 4;
+    private static final int ITERATIONS = 10000;
+
+    @Test
+    public void testPutAndGetCopy() {
+        OffHeapStore store = new OffHeapStore(SLAB_SIZE, SLAB_SIZE);
+        byte[] value = "abc".getBytes(StandardCharsets.UTF_8);
+        Assert.assertTrue(store.put("k1", value, TTL_MS));
+        value[0] = 0;
+        byte[] stored = store.get("k1");
+        Assert.assertArrayEquals("abc".getBytes(StandardCharsets.UTF_8), stored);
+        Assert.assertNull(store.get("k2"));
+        Assert.assertEquals(SLAB_SIZE, store.getAllocatedBytes());
+    }
+
+    @Test
+    public void testValueLargerThanSlabRejected() {
+        OffHeapStore store = new OffHeapStore(SLAB_SIZE, SLAB_SIZE);
+        Assert.assertFalse(store.put("k1", new byte[SLAB_SIZE + 1], TTL_MS));
+        Assert.assertEquals(0, store.size());
+        Assert.assertEquals(0L, store.getAllocatedBytes());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedValueOfSizeClassEvictedWhenFull() {
+        // one slab of four 64 byte chunks
+        OffHeapStore store = new OffHeapStore(SLAB_SIZE, SLAB_SIZE);
+        int chunks = SLAB_SIZE / OffHeapStore.MIN_CHUNK_SIZE;
+        for (int i = 0; i < chunks; i++) {
+            Assert.assertTrue(store.put("k" + i, new byte[SMALL], TTL_MS));
+        }
+        Assert.assertNotNull(store.get("k0"));
+        Assert.assertTrue(store.put("new", new byte[SMALL], TTL_MS));
+        Assert.assertEquals(chunks, store.size());
+        Assert.assertNull(store.get("k1"));
+        Assert.assertNotNull(store.get("k0"));
+    }
+
+    @Test
+    public void testSlabMovedToSizeClassWithoutSlab() {
+        OffHeapStore store = new OffHeapStore(SLAB_SIZE, SLAB_SIZE);
+        store.put("small", new byte[SMALL], TTL_MS);
+        Assert.assertTrue(store.put("large", new byte[LARGE], TTL_MS));
+        Assert.assertNull(store.get("small"));
+        Assert.assertEquals(LARGE, store.get("large").length);
+        Assert.assertEquals(1, store.size());
+        Assert.assertEquals(SLAB_SIZE, store.getAllocatedBytes());
+    }
+
+    @Test
+    public void testSlabOfColdSizeClassMovedToFullSizeClass() throws InterruptedException {
+        OffHeapStore store = new OffHeapStore(TWO_SLABS, SLAB_SIZE);
+        store.put("small", new byte[SMALL], TTL_MS);
+        store.put("large1", new byte[LARGE], TTL_MS);
+        Thread.sleep(IDLE_MS);
+        store.get("large1");
+        Assert.assertTrue(store.put("large2", new byte[LARGE], TTL_MS));
+        Assert.assertNull(store.get("small"));
+        Assert.assertNotNull(store.get("large1"));
+        Assert.assertNotNull(store.get("large2"));
+        Assert.assertEquals(TWO_SLABS, store.getAllocatedBytes());
+    }
+
+    @Test
+    public void testSlabOfSimilarlyUsedSizeClassNotMoved() throws InterruptedException {
+        OffHeapStore store = new OffHeapStore(TWO_SLABS, SLAB_SIZE);
+        store.put("small", new byte[SMALL], TTL_MS);
+        store.put("large1", new byte[LARGE], TTL_MS);
+        Thread.sleep(IDLE_MS);
+        store.get("small");
+        Assert.assertTrue(store.put("large2", new byte[LARGE], TTL_MS));
+        Assert.assertNotNull(store.get("small"));
+        Assert.assertNull(store.get("large1"));
+        Assert.assertNotNull(store.get("large2"));
+    }
+
+    @Test
+    public void testConcurrentReadersAndWritersOfDifferentSizeClasses() throws Exception {
+        OffHeapStore store = new OffHeapStore(TWO_SLABS, SLAB_SIZE);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int length = t % 2 == 0 ? SMALL : LARGE;
+            String key = "k" + t;
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    byte[] value = new byte[length];
+                    Arrays.fill(value, (byte) i);
+                    store.put(key, value, TTL_MS);
+                    byte[] read = store.get(key);
+                    // every stored copy is whole, whichever put it comes from
+                    if (read != null) {
+                        Assert.assertEquals(length, read.length);
+                        for (byte b : read) {
+                            Assert.assertEquals(read[0], b);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+        Assert.assertEquals(TWO_SLABS, store.getAllocatedBytes());
+    }
+
+    @Test
+    public void testRemoveAndClearFreeChunks() {
+        OffHeapStore store = new OffHeapStore(SLAB_SIZE, SLAB_SIZE);
+        store.put("k1", new byte[LARGE], TTL_MS);
+        store.remove("k1");
+        Assert.assertNull(store.get("k1"));
+        Assert.assertTrue(store.put("k2", new byte[LARGE], TTL_MS));
+        store.clear();
+        Assert.assertEquals(0, store.size());
+        Assert.assertTrue(store.put("k3", new byte[LARGE], TTL_MS));
+        Assert.assertEquals(SLAB_SIZE, store.getAllocatedBytes());
+    }
+
+    @Test
+    public void testValueExpires() throws InterruptedException {
+        OffHeapStore store = new OffHeapStore(SLAB_SIZE, SLAB_SIZE);
+        store.put("k1", new byte[SMALL], SHORT_TTL_MS);
+        Thread.sleep(EXPIRY_WAIT_MS);
+        Assert.assertNull(store.get("k1"));
+        Assert.assertEquals(0, store.size());
+    }
+}
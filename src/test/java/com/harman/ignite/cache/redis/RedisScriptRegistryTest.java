@@ -0,0 +1,105 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import com.harman.ignite.cache.exception.IgniteCacheException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScript;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Unit test class for RedisScriptRegistry.
+ */
+public class RedisScriptRegistryTest {
+
+    private static final String SCRIPT = "return 1";
+    private static final String SHA = "e0e1f9fabfc9d4800c877a703b823ac0578ff8db";
+
+    private RFuture<Long> evalSha(RScript rscript) {
+        return rscript.evalShaAsync(RScript.Mode.READ_ONLY, SHA, RScript.ReturnType.INTEGER,
+                Collections.emptyList());
+    }
+
+    @Test
+    public void testScriptLoadedOnceAndInvokedWithEvalSha() {
+        RScript rscript = Mockito.mock(RScript.class);
+        Mockito.when(rscript.scriptLoadAsync(SCRIPT)).thenReturn(new CompletableFutureWrapper<>(SHA));
+        Mockito.when(evalSha(rscript)).thenReturn(new CompletableFutureWrapper<>(1L));
+        RedisScriptRegistry registry = new RedisScriptRegistry(codec -> rscript, new StringCodec());
+        registry.register("one", SCRIPT);
+        Long first = registry.eval("one", RScript.Mode.READ_ONLY, RScript.ReturnType.INTEGER,
+                Collections.emptyList());
+        Long second = registry.eval("one", RScript.Mode.READ_ONLY, RScript.ReturnType.INTEGER,
+                Collections.emptyList());
+        Assert.assertEquals(Long.valueOf(1L), first);
+        Assert.assertEquals(Long.valueOf(1L), second);
+        Mockito.verify(rscript, Mockito.times(1)).scriptLoadAsync(SCRIPT);
+        Mockito.verify(rscript, Mockito.times(2)).evalShaAsync(RScript.Mode.READ_ONLY, SHA,
+                RScript.ReturnType.INTEGER, Collections.emptyList());
+        Mockito.verify(rscript, Mockito.never()).evalAsync(Mockito.any(RScript.Mode.class), Mockito.anyString(),
+                Mockito.any(RScript.ReturnType.class), Mockito.anyList());
+    }
+
+    @Test
+    public void testScriptReloadedOnNoScript() {
+        RScript rscript = Mockito.mock(RScript.class);
+        Mockito.when(rscript.scriptLoadAsync(SCRIPT)).thenReturn(new CompletableFutureWrapper<>(SHA));
+        RedisException noScript = new RedisException("NOSCRIPT No matching script. Please use EVAL.");
+        Mockito.when(evalSha(rscript))
+                .thenReturn(new CompletableFutureWrapper<Long>(CompletableFuture.<Long>failedFuture(noScript)))
+                .thenReturn(new CompletableFutureWrapper<>(1L));
+        RedisScriptRegistry registry = new RedisScriptRegistry(codec -> rscript, new StringCodec());
+        registry.register("one", SCRIPT);
+        Long result = registry.eval("one", RScript.Mode.READ_ONLY, RScript.ReturnType.INTEGER,
+                Collections.emptyList());
+        Assert.assertEquals(Long.valueOf(1L), result);
+        Mockito.verify(rscript, Mockito.times(2)).scriptLoadAsync(SCRIPT);
+    }
+
+    @Test
+    public void testOtherErrorsAreNotRetried() {
+        RScript rscript = Mockito.mock(RScript.class);
+        Mockito.when(rscript.scriptLoadAsync(SCRIPT)).thenReturn(new CompletableFutureWrapper<>(SHA));
+        RedisException error = new RedisException("ERR Error running script");
+        Mockito.when(evalSha(rscript))
+                .thenReturn(new CompletableFutureWrapper<Long>(CompletableFuture.<Long>failedFuture(error)));
+        RedisScriptRegistry registry = new RedisScriptRegistry(codec -> rscript, new StringCodec());
+        registry.register("one", SCRIPT);
+        try {
+            registry.eval("one", RScript.Mode.READ_ONLY, RScript.ReturnType.INTEGER, Collections.emptyList());
+            Assert.fail("Expected the script error");
+        } catch (RedisException e) {
+            Assert.assertSame(error, e);
+        }
+        Mockito.verify(rscript, Mockito.times(1)).scriptLoadAsync(SCRIPT);
+    }
+
+    @Test(expected = IgniteCacheException.class)
+    public void testUnknownScript() {
+        RedisScriptRegistry registry = new RedisScriptRegistry(codec -> Mockito.mock(RScript.class), new StringCodec());
+        registry.eval("missing", RScript.Mode.READ_ONLY, RScript.ReturnType.INTEGER, Collections.emptyList());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test class for ScanBudget.
+ */
+public class ScanBudgetTest {
+
+    private static final int MIN_SIZE = 10;
+    private static final int MAX_SIZE = 100;
+    private static final int HALF_SIZE = 50;
+    private static final int GROWN_SIZE = 75;
+    private static final long BUDGET_MS = 400L;
+    private static final long SLOW_PAGE_MS = 200L;
+    private static final long FAST_PAGE_MS = 10L;
+    private static final long ON_TARGET_PAGE_MS = 80L;
+
+    @Test
+    public void testPageSizeHalvedAfterSlowPage() {
+        ScanBudget budget = ScanBudget.timed(BUDGET_MS, MIN_SIZE, MAX_SIZE);
+        Assert.assertEquals(MAX_SIZE, budget.getPageSize());
+        budget.pageCompleted(TimeUnit.MILLISECONDS.toNanos(SLOW_PAGE_MS));
+        Assert.assertEquals(HALF_SIZE, budget.getPageSize());
+        for (int i = 0; i < MAX_SIZE; i++) {
+            budget.pageCompleted(TimeUnit.MILLISECONDS.toNanos(SLOW_PAGE_MS));
+        }
+        Assert.assertEquals(MIN_SIZE, budget.getPageSize());
+    }
+
+    @Test
+    public void testPageSizeGrowsAfterFastPageUpToMaximum() {
+        ScanBudget budget = ScanBudget.timed(BUDGET_MS, MIN_SIZE, MAX_SIZE);
+        budget.pageCompleted(TimeUnit.MILLISECONDS.toNanos(SLOW_PAGE_MS));
+        Assert.assertEquals(HALF_SIZE, budget.getPageSize());
+        budget.pageCompleted(TimeUnit.MILLISECONDS.toNanos(ON_TARGET_PAGE_MS));
+        Assert.assertEquals(HALF_SIZE, budget.getPageSize());
+        budget.pageCompleted(TimeUnit.MILLISECONDS.toNanos(FAST_PAGE_MS));
+        Assert.assertEquals(GROWN_SIZE, budget.getPageSize());
+        budget.pageCompleted(TimeUnit.MILLISECONDS.toNanos(FAST_PAGE_MS));
+        Assert.assertEquals(MAX_SIZE, budget.getPageSize());
+    }
+
+    @Test
+    public void testPageSizeNotSharedBetweenBudgets() {
+        ScanBudget first = ScanBudget.timed(BUDGET_MS, MIN_SIZE, MAX_SIZE);
+        first.pageCompleted(TimeUnit.MILLISECONDS.toNanos(SLOW_PAGE_MS));
+        ScanBudget second = ScanBudget.timed(BUDGET_MS, MIN_SIZE, MAX_SIZE);
+        Assert.assertEquals(HALF_SIZE, first.getPageSize());
+        Assert.assertEquals(MAX_SIZE, second.getPageSize());
+    }
+
+    @Test
+    public void testExhaustion() {
+        Assert.assertTrue(ScanBudget.timed(0L, MIN_SIZE, MAX_SIZE).isExhausted());
+        Assert.assertFalse(ScanBudget.timed(BUDGET_MS, MIN_SIZE, MAX_SIZE).isExhausted());
+        ScanBudget unlimited = ScanBudget.unlimited(MAX_SIZE);
+        unlimited.pageCompleted(TimeUnit.MILLISECONDS.toNanos(SLOW_PAGE_MS));
+        Assert.assertFalse(unlimited.isExhausted());
+        Assert.assertEquals(MAX_SIZE, unlimited.getPageSize());
+    }
+}
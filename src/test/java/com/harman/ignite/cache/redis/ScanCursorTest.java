@@ -0,0 +1,82 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import com.harman.ignite.cache.IgniteCache;
+import com.harman.ignite.cache.exception.IgniteCacheException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit test class for ScanCursor.
+ */
+public class ScanCursorTest {
+
+    private static final long CURSOR = 42L;
+    private static final int DELIVERED = 3;
+    private static final int COUNT = 20;
+
+    @Test
+    public void testSingleNodeCursorRoundTrip() {
+        Map<String, ScanCursor> positions = new LinkedHashMap<>();
+        positions.put(ScanCursor.SINGLE_NODE, new ScanCursor(0L, DELIVERED, COUNT));
+        String cursor = ScanCursor.format(positions);
+        Assert.assertEquals("0:3:20", cursor);
+        ScanCursor parsed = ScanCursor.parse(cursor, List.of(ScanCursor.SINGLE_NODE)).get(ScanCursor.SINGLE_NODE);
+        Assert.assertEquals(0L, parsed.getCursor());
+        Assert.assertEquals(DELIVERED, parsed.getDelivered());
+        Assert.assertEquals(COUNT, parsed.getCount());
+    }
+
+    @Test
+    public void testStartCursorAppliesToEveryNode() {
+        Map<String, ScanCursor> positions = ScanCursor.parse(IgniteCache.SCAN_START_CURSOR, List.of("1", "2"));
+        Assert.assertEquals(List.of("1", "2"), List.copyOf(positions.keySet()));
+        Assert.assertEquals(0L, positions.get("2").getCursor());
+        Assert.assertEquals(IgniteCache.SCAN_START_CURSOR, ScanCursor.format(Collections.emptyMap()));
+    }
+
+    @Test
+    public void testClusterCursorRoundTrip() {
+        Map<String, ScanCursor> positions = new LinkedHashMap<>();
+        positions.put("1", new ScanCursor(CURSOR));
+        positions.put("7", new ScanCursor(0L, DELIVERED, COUNT));
+        String cursor = ScanCursor.format(positions);
+        Assert.assertEquals("1@42,7@0:3:20", cursor);
+        Map<String, ScanCursor> parsed = ScanCursor.parse(cursor, List.of("1", "7", "9"));
+        Assert.assertEquals(List.of("1", "7"), List.copyOf(parsed.keySet()));
+        Assert.assertEquals(CURSOR, parsed.get("1").getCursor());
+        Assert.assertEquals(DELIVERED, parsed.get("7").getDelivered());
+        Assert.assertEquals(0, parsed.get("1").getCount());
+    }
+
+    @Test(expected = IgniteCacheException.class)
+    public void testInvalidCursor() {
+        ScanCursor.parse("abc", List.of(ScanCursor.SINGLE_NODE));
+    }
+
+    @Test(expected = IgniteCacheException.class)
+    public void testCursorWithinPageWithoutCount() {
+        ScanCursor.parse("0:3", List.of(ScanCursor.SINGLE_NODE));
+    }
+}
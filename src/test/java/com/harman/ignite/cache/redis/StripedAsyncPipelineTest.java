@@ -0,0 +1,110 @@
+/*
+ ********************************************************************************
+ * COPYRIGHT (c) 2024 Harman International Industries, Inc                      *
+ *                                                                              *
+ * All rights reserved                                                          *
+ *                                                                              *
+ * This software embodies materials and concepts which are                      *
+ * confidential to Harman International Industries, Inc. and is                 *
+ * made available solely pursuant to the terms of a written license             *
+ * agreement with Harman International Industries, Inc.                         *
+ *                                                                              *
+ * Designed and Developed by Harman International Industries, Inc.              *
+ *------------------------------------------------------------------------------*
+ * MODULE OR UNIT: ignite-cache                                                 *
+ ********************************************************************************
+ */
+
+package com.harman.ignite.cache.redis;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.redisson.api.BatchResult;
+import org.redisson.api.RBatch;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit test class for StripedAsyncPipeline and ClusterSlots.
+ */
+public class StripedAsyncPipelineTest {
+
+    private static final int FOO_SLOT = 12182;
+    private static final int BAR_SLOT = 5061;
+    private static final int CHECK_VALUE = 0x31C3;
+    private static final long ACK_DELAY_MS = 50L;
+    private static final long DRAIN_TIMEOUT_MS = 500L;
+
+    @Test
+    public void testSlotsMatchRedisCluster() {
+        Assert.assertEquals(FOO_SLOT, ClusterSlots.slot("foo"));
+        Assert.assertEquals(BAR_SLOT, ClusterSlots.slot("bar"));
+        Assert.assertEquals(CHECK_VALUE, ClusterSlots.crc16("123456789".getBytes()));
+        Assert.assertEquals(ClusterSlots.slot("user1000"), ClusterSlots.slot("{user1000}.following"));
+        // an empty hash tag is not a hash tag
+        Assert.assertEquals(ClusterSlots.crc16("{}.following".getBytes()) % ClusterSlots.SLOT_COUNT,
+                ClusterSlots.slot("{}.following"));
+    }
+
+    @Test
+    public void testKeysOfDifferentSlotRangesGoToSeparateBatches() {
+        List<RBatch> batches = new ArrayList<>();
+        StripedAsyncPipeline pipeline = StripedAsyncPipeline.bySlot(options -> {
+            RBatch rbatch = Mockito.mock(RBatch.class);
+            // a batch that is never acknowledged, as from a slow master
+            Mockito.when(rbatch.executeAsync()).thenReturn(
+                    new CompletableFutureWrapper<BatchResult<?>>(new CompletableFuture<BatchResult<?>>()));
+            batches.add(rbatch);
+            return rbatch;
+        }, 2);
+        pipeline.configure(p -> p.setMaxInFlightBatches(1));
+        pipeline.start();
+        try {
+            pipeline.submit(new PendingOperation("foo", new CompletableFuture<String>(),
+                    batch -> batch.getBucket("foo")));
+            pipeline.submit(new PendingOperation("bar", new CompletableFuture<String>(),
+                    batch -> batch.getBucket("bar")));
+            pipeline.flush(BatchFlushReason.TIME);
+            Assert.assertEquals(2, batches.size());
+            Mockito.verify(batches.get(0)).getBucket("bar");
+            Mockito.verify(batches.get(0), Mockito.never()).getBucket("foo");
+            Mockito.verify(batches.get(1)).getBucket("foo");
+            Assert.assertEquals(2, pipeline.sum(AsyncBatchPipeline::getInFlightBatchCount));
+        } finally {
+            pipeline.shutdown(0L);
+        }
+    }
+
+    @Test
+    public void testShutdownAwaitsAllStripesDespiteStalledStripe() {
+        List<CompletableFuture<BatchResult<?>>> acks = new CopyOnWriteArrayList<>();
+        StripedAsyncPipeline pipeline = StripedAsyncPipeline.bySlot(options -> {
+            RBatch rbatch = Mockito.mock(RBatch.class);
+            CompletableFuture<BatchResult<?>> ack = new CompletableFuture<>();
+            Mockito.when(rbatch.executeAsync()).thenReturn(new CompletableFutureWrapper<BatchResult<?>>(ack));
+            acks.add(ack);
+            return rbatch;
+        }, 2);
+        pipeline.start();
+        CompletableFuture<String> bar = new CompletableFuture<>();
+        CompletableFuture<String> foo = new CompletableFuture<>();
+        pipeline.submit(new PendingOperation("bar", bar, batch -> batch.getBucket("bar")));
+        pipeline.submit(new PendingOperation("foo", foo, batch -> batch.getBucket("foo")));
+        // the stripe of bar, drained first, never acknowledges its batch while the stripe of foo does shortly
+        CompletableFuture.delayedExecutor(ACK_DELAY_MS, TimeUnit.MILLISECONDS).execute(() -> {
+            foo.complete("foo");
+            acks.get(1).complete(new BatchResult<>(List.of(), 0));
+        });
+        PipelineDrainReport report = pipeline.shutdown(DRAIN_TIMEOUT_MS);
+        Assert.assertEquals(1, report.getFlushed());
+        Assert.assertEquals(1, report.getAbandoned());
+        Assert.assertEquals("foo", foo.join());
+        Assert.assertTrue(bar.isCompletedExceptionally());
+    }
+}